@@ -1,5 +1,6 @@
 package com.demo.autenticacion.autenticacionJWT.apiResponse;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
@@ -8,15 +9,16 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiError {
-    private HttpStatus status;        // Machine-readable error code
+    private int status;         // Machine-readable error code
     private String description; // Human-readable description
     private String traceId;     // For distributed tracing
     private Map<String, String> details; // Additional error context
 
 
     public ApiError(HttpStatus status, String description) {
-        this.status = status;
+        this.status = status.value();
         this.description = description;
         this.traceId = MDC.get("traceId"); // From SLF4J MDC
     }
@@ -28,4 +30,14 @@ public class ApiError {
         this.details.put(key, value);
         return this;
     }
+
+    // Adopts the caller's map as-is instead of copying it entry by entry
+    public ApiError withDetails(Map<String, String> details) {
+        if (this.details == null) {
+            this.details = details;
+        } else {
+            this.details.putAll(details);
+        }
+        return this;
+    }
 }
@@ -1,17 +1,17 @@
 package com.demo.autenticacion.autenticacionJWT.apiResponse;
 
+import com.demo.autenticacion.autenticacionJWT.helpers.ResponseClock;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
-import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 
-import java.time.Instant;
-
 @Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
     private boolean success;
     private String type;
     private String title;
-    private HttpStatus status;
+    private int status;         // Numeric HTTP code, cheaper than the enum name
     private T data;
     private String timestamp;
     private String instance;
@@ -22,8 +22,8 @@ public class ApiResponse<T> {
         this.success = success;
         this.title = title;
         this.data = data;
-        this.status = status;
-        this.timestamp = Instant.now().toString();
+        this.status = status.value();
+        this.timestamp = ResponseClock.now();
 
     }
 
@@ -31,8 +31,8 @@ public class ApiResponse<T> {
         this.success = success;
         this.type = type;
         this.title = title;
-        this.status = status;
-        this.timestamp = Instant.now().toString();
+        this.status = status.value();
+        this.timestamp = ResponseClock.now();
         this.instance = instance;
         this.error = error;
     }}
@@ -1,6 +1,8 @@
 package com.demo.autenticacion.autenticacionJWT.config;
 
+import com.demo.autenticacion.autenticacionJWT.exceptions.UserNotFoundException;
 import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioRepository;
+import com.demo.autenticacion.autenticacionJWT.services.UserCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,7 +11,6 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -17,15 +18,17 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class ApplicationConfig {
 
     private final UsuarioRepository usuarioRepository;
+    private final UserCache userCache;
 
-    public ApplicationConfig(UsuarioRepository usuarioRepository) {
+    public ApplicationConfig(UsuarioRepository usuarioRepository, UserCache userCache) {
         this.usuarioRepository = usuarioRepository;
+        this.userCache = userCache;
     }
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> usuarioRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return username -> userCache.get(username, name -> usuarioRepository.findByUsername(name)
+                .orElseThrow(() -> UserNotFoundException.INSTANCE));
     }
     @Bean
     public AuthenticationProvider authenticationProvider(){
@@ -0,0 +1,75 @@
+package com.demo.autenticacion.autenticacionJWT.config;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local SMTP stand-in for the "embedded" profile: messages are rendered exactly as for a real
+// server and kept in a bounded in-memory mailbox instead of being sent.
+@Configuration
+@Profile("embedded")
+public class EmbeddedMailConfig {
+
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new CapturingMailSender(1000);
+    }
+
+    public static class CapturingMailSender extends JavaMailSenderImpl {
+
+        private final Deque<CapturedMail> mailbox = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final int capacity;
+
+        public CapturingMailSender(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            for (MimeMessage message : mimeMessages) {
+                try {
+                    message.saveChanges();
+                    ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                    message.writeTo(raw);
+                    String to = message.getAllRecipients()[0].toString();
+                    mailbox.addLast(new CapturedMail(to, message.getSubject(), raw.toString(StandardCharsets.UTF_8)));
+                    if (size.incrementAndGet() > capacity && mailbox.pollFirst() != null) {
+                        size.decrementAndGet();
+                    }
+                } catch (MessagingException | IOException ex) {
+                    throw new MailSendException("Could not capture message", ex);
+                }
+            }
+        }
+
+        // Most recent message for the recipient, or null
+        public CapturedMail lastMessageTo(String recipient) {
+            Iterator<CapturedMail> it = mailbox.descendingIterator();
+            while (it.hasNext()) {
+                CapturedMail mail = it.next();
+                if (mail.to().equalsIgnoreCase(recipient)) {
+                    return mail;
+                }
+            }
+            return null;
+        }
+    }
+
+    public record CapturedMail(String to, String subject, String content) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.demo.autenticacion.autenticacionJWT.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.Profiles;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+// The "embedded" profile ships no secrets: when JWT_SECRET or CLIENT_SECRET_PEPPER is not set, it
+// gets a random value for this process only, so tokens and client secrets never outlive a restart
+// and no key in the repository is ever accepted. Runs after the config files are read, to see the
+// active profiles; added last, so an explicit value always wins.
+public class EmbeddedSecretsEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    private static final String PROPERTY_SOURCE = "embeddedGeneratedSecrets";
+    private static final int SECRET_BYTES = 32;
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.acceptsProfiles(Profiles.of("embedded"))) {
+            return;
+        }
+        SecureRandom random = new SecureRandom();
+        Map<String, Object> generated = new HashMap<>();
+        for (String name : new String[]{"JWT_SECRET", "CLIENT_SECRET_PEPPER"}) {
+            if (!environment.containsProperty(name)) {
+                byte[] secret = new byte[SECRET_BYTES];
+                random.nextBytes(secret);
+                // Base64, as jwt.secretKey expects; the pepper takes any string
+                generated.put(name, Base64.getEncoder().encodeToString(secret));
+            }
+        }
+        if (!generated.isEmpty()) {
+            environment.getPropertySources().addLast(new MapPropertySource(PROPERTY_SOURCE, generated));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.demo.autenticacion.autenticacionJWT.config;
+
+import com.demo.autenticacion.autenticacionJWT.services.DependencyProbes;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Health contributors backed by DependencyProbes' cached results. Spring Boot's own "db" and "mail"
+// indicators query MySQL/SMTP on the request thread and are switched off in application.properties;
+// these replace them. Names (bean name minus "HealthIndicator") are what the health groups include.
+@Configuration
+public class HealthConfig {
+
+    @Bean
+    public HealthIndicator dbPoolHealthIndicator(DependencyProbes probes) {
+        return probes::database;
+    }
+
+    @Bean
+    public HealthIndicator mailQueueHealthIndicator(DependencyProbes probes) {
+        return probes::mailQueue;
+    }
+
+    @Bean
+    public HealthIndicator smtpHealthIndicator(DependencyProbes probes) {
+        return probes::smtp;
+    }
+}
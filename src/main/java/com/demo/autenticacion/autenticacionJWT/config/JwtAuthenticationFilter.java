@@ -1,17 +1,21 @@
 package com.demo.autenticacion.autenticacionJWT.config;
 
 import com.demo.autenticacion.autenticacionJWT.services.JwtService;
+import com.demo.autenticacion.autenticacionJWT.services.TokenRenewalService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -20,37 +24,59 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final TokenRenewalService tokenRenewalService;
+    private final RouteAuthorization routeAuthorization;
+    private final HandlerExceptionResolver exceptionResolver;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, TokenRenewalService tokenRenewalService, RouteAuthorization routeAuthorization,
+                                   @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.tokenRenewalService = tokenRenewalService;
+        this.routeAuthorization = routeAuthorization;
+        this.exceptionResolver = exceptionResolver;
     }
 
 
+    // Public routes never look at the token, so there is nothing to parse for them
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routeAuthorization.isPublic(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
     ) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (StringUtils.isEmpty(authHeader) || !StringUtils.startsWithIgnoreCase(authHeader, "Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         jwt = authHeader.substring(7);//Bearer length is 7
-        username = jwtService.extractUserName(jwt);
-        if (!StringUtils.isEmpty(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        try {
+            final Claims claims = jwtService.extractAllClaims(jwt);
+            if (!StringUtils.isEmpty(claims.getSubject()) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = jwtService.loadUser(claims);
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    // The loaded Usuario (id included) becomes the principal; controllers take it via @AuthenticationPrincipal
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request)
+                    );
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                    String renewed = tokenRenewalService.renewIfNearExpiry(jwt, claims, userDetails);
+                    if (renewed != null) {
+                        response.setHeader(TokenRenewalService.HEADER, renewed);
+                    }
+                }
             }
+        } catch (AuthenticationException ex) {
+            // Filters run outside the MVC dispatch, so hand the rejection to GlobalExceptionHandler
+            exceptionResolver.resolveException(request, response, null, ex);
+            return;
         }
         filterChain.doFilter(request, response);
 
@@ -0,0 +1,115 @@
+package com.demo.autenticacion.autenticacionJWT.config;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.AdaptiveLimiter;
+import com.demo.autenticacion.autenticacionJWT.helpers.PathPrefixTrie;
+import com.demo.autenticacion.autenticacionJWT.helpers.StaticErrorBody;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+
+// Adaptive concurrency limits in front of everything else, with one bulkhead for endpoints that
+// hash passwords or write to the database and one for the cheap token-checked calls, so a slow
+// database sheds the expensive class first. Rejected requests get an immediate 503 before security
+// or the controllers run.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final StaticErrorBody OVERLOADED = StaticErrorBody.of(
+            "SERVICE_UNAVAILABLE",
+            "Servicio sobrecargado",
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many concurrent requests, retry shortly");
+
+    private final boolean enabled;
+    private final PathPrefixTrie<Bulkhead> bulkheads = new PathPrefixTrie<>();
+    private final Bulkhead cheap;
+
+    public LoadSheddingFilter(MeterRegistry meterRegistry,
+                              @Value("${auth.concurrency.enabled:true}") boolean enabled,
+                              @Value("${auth.concurrency.cheap.initial-limit:100}") int cheapInitial,
+                              @Value("${auth.concurrency.cheap.min-limit:20}") int cheapMin,
+                              @Value("${auth.concurrency.cheap.max-limit:1000}") int cheapMax,
+                              @Value("${auth.concurrency.expensive.initial-limit:20}") int expensiveInitial,
+                              @Value("${auth.concurrency.expensive.min-limit:4}") int expensiveMin,
+                              @Value("${auth.concurrency.expensive.max-limit:200}") int expensiveMax) {
+        this.enabled = enabled;
+        this.cheap = new Bulkhead("cheap", new AdaptiveLimiter(cheapInitial, cheapMin, cheapMax), meterRegistry);
+        Bulkhead expensive = new Bulkhead("expensive", new AdaptiveLimiter(expensiveInitial, expensiveMin, expensiveMax), meterRegistry);
+        for (String route : new String[]{"/api/v1/auth/authenticate", "/api/v1/auth/register", "/api/v1/auth/forgot-password",
+                "/api/v1/auth/reset-password", "/api/v1/auth/change-password", "/api/v1/auth/refresh"}) {
+            bulkheads.put(route, expensive);
+        }
+        // Health probes and docs must keep answering while the service sheds load
+        bulkheads.put("/actuator/**", Bulkhead.NONE);
+        bulkheads.put("/v3/api-docs/**", Bulkhead.NONE);
+        bulkheads.put("/swagger-ui/**", Bulkhead.NONE);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Decoded like RouteAuthorization does, so an encoded spelling cannot dodge the expensive bulkhead
+        Bulkhead bulkhead = bulkheads.resolve(UrlPathHelper.defaultInstance.getPathWithinApplication(request), cheap);
+        if (bulkhead == Bulkhead.NONE) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!bulkhead.limiter().tryAcquire()) {
+            bulkhead.shed().increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(OVERLOADED.render(request.getRequestURI()));
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            bulkhead.limiter().release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private record Bulkhead(AdaptiveLimiter limiter, Counter shed) {
+
+        static final Bulkhead NONE = new Bulkhead(null, null);
+
+        Bulkhead(String name, AdaptiveLimiter limiter, MeterRegistry meterRegistry) {
+            this(limiter, Counter.builder("auth.concurrency.shed")
+                    .description("Requests rejected with 503 because the bulkhead was at its limit")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry));
+            Gauge.builder("auth.concurrency.limit", limiter, AdaptiveLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("auth.concurrency.in-flight", limiter, AdaptiveLimiter::getInFlight)
+                    .description("Requests currently being processed")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.autenticacion.autenticacionJWT.config;
+
+import com.demo.autenticacion.autenticacionJWT.apiResponse.ApiError;
+import com.demo.autenticacion.autenticacionJWT.apiResponse.ApiResponse;
+import com.demo.autenticacion.autenticacionJWT.dtos.*;
+import com.demo.autenticacion.autenticacionJWT.validation.PersonNameValidator;
+import com.demo.autenticacion.autenticacionJWT.validation.StrongPasswordValidator;
+import com.demo.autenticacion.autenticacionJWT.validation.UsernameValidator;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+// GraalVM native-image hints. The DTOs travel inside ApiResponse<?>, whose wildcard hides them
+// from Spring's automatic binding inference, and jjwt instantiates its implementation classes and
+// the Jackson (de)serializer reflectively / via ServiceLoader.
+@Configuration
+@ImportRuntimeHints({NativeHintsConfig.JjwtHints.class, NativeHintsConfig.MailTemplateHints.class, NativeHintsConfig.ValidationHints.class})
+@RegisterReflectionForBinding({
+        ApiResponse.class,
+        ApiError.class,
+        AuthenticationRequest.class,
+        AuthenticationResponse.class,
+        RegisterRequest.class,
+        PasswordChangeRequest.class,
+        PasswordChangeResponse.class,
+        PasswordRecoveryRequest.class,
+        PasswordResetRequest.class,
+        RolePermissionsRequest.class,
+        RolePermissionsResponse.class,
+        ClientTokenResponse.class,
+        ServiceClientRequest.class,
+        ServiceClientResponse.class,
+        SessionRevocationResponse.class,
+        SimpleGrantedAuthority.class // serialized into the "roles" claim
+})
+public class NativeHintsConfig {
+
+    static class JjwtHints implements RuntimeHintsRegistrar {
+
+        private static final String[] JJWT_REFLECTIVE_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_REFLECTIVE_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer");
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+        }
+    }
+
+    // MailTemplates reads templates/mail/*.mail from the classpath at startup
+    static class MailTemplateHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("templates/mail/*.mail");
+        }
+    }
+
+    // Hibernate Validator instantiates the DTO constraint validators reflectively
+    static class ValidationHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : new Class<?>[]{PersonNameValidator.class, StrongPasswordValidator.class, UsernameValidator.class}) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.demo.autenticacion.autenticacionJWT.config;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.PathPrefixTrie;
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import com.demo.autenticacion.autenticacionJWT.models.Usuario;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// Route -> access rule table, compiled into a path trie once at startup. Every request is resolved
+// with a single walk over its path segments instead of trying each matcher in turn. The same table
+// tells JwtAuthenticationFilter which routes are public, so those never touch the Authorization header.
+@Component
+public class RouteAuthorization implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final Rule PUBLIC = new Rule(true, 0);
+    private static final Rule AUTHENTICATED = new Rule(false, 0);
+
+    private final PathPrefixTrie<Rule> routes = new PathPrefixTrie<>();
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public RouteAuthorization() {
+        permitAll("/api/v1/auth/**", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/webjars/**");
+        // Orchestrator probes carry no token; the responses hold statuses only, no details
+        permitAll("/actuator/health/**");
+        // Lives under /auth but acts on the caller's own account
+        routes.put("/api/v1/auth/change-password", AUTHENTICATED);
+        requireAny("/api/v1/admin/**", Permission.ADMIN_ACCESS);
+        requireAny("/api/v1/admin/roles/**", Permission.ROLES_MANAGE);
+        // Clients can be granted any permission, so registering them is as sensitive as editing roles
+        requireAny("/api/v1/admin/clients/**", Permission.ROLES_MANAGE);
+        requireAny("/api/v1/admin/sessions/**", Permission.USERS_WRITE);
+        requireAny("/api/v1/user/**", Permission.USER_ACCESS);
+    }
+
+    public boolean isPublic(HttpServletRequest request) {
+        return resolve(request).publicRoute();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Rule rule = resolve(context.getRequest());
+        if (rule.publicRoute()) {
+            return new AuthorizationDecision(true);
+        }
+        Authentication auth = authentication.get();
+        if (!trustResolver.isAuthenticated(auth)) {
+            return new AuthorizationDecision(false);
+        }
+        return new AuthorizationDecision(rule.permissions() == 0 || (permissionsOf(auth) & rule.permissions()) != 0);
+    }
+
+    // Matched on the decoded, normalized path Spring MVC dispatches on: the raw URI would let
+    // /api/v1/%61dmin/** slip past the admin rules and still reach AdminController
+    private Rule resolve(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        return routes.resolve(path, AUTHENTICATED); // anything unlisted requires authentication
+    }
+
+    private void permitAll(String... patterns) {
+        for (String pattern : patterns) {
+            routes.put(pattern, PUBLIC);
+        }
+    }
+
+    private void requireAny(String pattern, Permission... permissions) {
+        routes.put(pattern, new Rule(false, Permission.mask(List.of(permissions))));
+    }
+
+    // Users carry their role's precomputed mask; other principals are matched by authority codes
+    private static long permissionsOf(Authentication auth) {
+        if (auth.getPrincipal() instanceof Usuario usuario) {
+            return usuario.getRole().permissionMask();
+        }
+        return Permission.maskOfAuthorities(auth.getAuthorities());
+    }
+
+    // permissions == 0 means any authenticated caller; otherwise one of the bits must be granted
+    private record Rule(boolean publicRoute, long permissions) {
+    }
+}
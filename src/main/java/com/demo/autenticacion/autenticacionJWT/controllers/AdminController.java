@@ -1,17 +1,100 @@
 package com.demo.autenticacion.autenticacionJWT.controllers;
 
+import com.demo.autenticacion.autenticacionJWT.apiResponse.ApiResponse;
+import com.demo.autenticacion.autenticacionJWT.dtos.RolePermissionsRequest;
+import com.demo.autenticacion.autenticacionJWT.dtos.RolePermissionsResponse;
+import com.demo.autenticacion.autenticacionJWT.dtos.ServiceClientRequest;
+import com.demo.autenticacion.autenticacionJWT.dtos.ServiceClientResponse;
+import com.demo.autenticacion.autenticacionJWT.dtos.SessionRevocationResponse;
+import com.demo.autenticacion.autenticacionJWT.helpers.ApiResponseBuilder;
+import com.demo.autenticacion.autenticacionJWT.models.Role;
+import com.demo.autenticacion.autenticacionJWT.models.SessionEpoch;
+import com.demo.autenticacion.autenticacionJWT.services.ClientCredentialsService;
+import com.demo.autenticacion.autenticacionJWT.services.PermissionRegistry;
+import com.demo.autenticacion.autenticacionJWT.services.TokenRevocationRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("api/v1/admin")
 
 public class AdminController {
 
+    private final PermissionRegistry permissionRegistry;
+    private final ClientCredentialsService clientCredentialsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    public AdminController(PermissionRegistry permissionRegistry, ClientCredentialsService clientCredentialsService,
+                           TokenRevocationRegistry tokenRevocationRegistry) {
+        this.permissionRegistry = permissionRegistry;
+        this.clientCredentialsService = clientCredentialsService;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
     @PostMapping("/testAdmin")
     public ResponseEntity<String> seyHello() {
         return ResponseEntity.ok("Hello from Admin Controller!");
     }
+
+    @GetMapping("/roles")
+    public ResponseEntity<ApiResponse<?>> roles() {
+        List<RolePermissionsResponse> res = permissionRegistry.findAll().stream()
+                .map(RolePermissionsResponse::of)
+                .toList();
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.OK));
+    }
+
+    @PutMapping("/roles/{role}/permissions")
+    public ResponseEntity<ApiResponse<?>> updateRolePermissions(@PathVariable Role role,
+                                                                @Valid @RequestBody RolePermissionsRequest request) {
+        RolePermissionsResponse res = RolePermissionsResponse.of(permissionRegistry.updatePermissions(role, request.getPermissions()));
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.OK));
+    }
+
+    @GetMapping("/clients")
+    public ResponseEntity<ApiResponse<?>> clients() {
+        List<ServiceClientResponse> res = clientCredentialsService.findAll().stream()
+                .map(ServiceClientResponse::of)
+                .toList();
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.OK));
+    }
+
+    // Registering an existing client id rotates its secret and replaces its scopes
+    @PostMapping("/clients")
+    public ResponseEntity<ApiResponse<?>> registerClient(@Valid @RequestBody ServiceClientRequest request) {
+        ServiceClientResponse res = clientCredentialsService.register(request.getClientId(), request.getScopes());
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.CREATED));
+    }
+
+    @DeleteMapping("/clients/{clientId}")
+    public ResponseEntity<ApiResponse<?>> removeClient(@PathVariable String clientId) {
+        clientCredentialsService.remove(clientId);
+        return ResponseEntity.ok(ApiResponseBuilder.success(HttpStatus.OK));
+    }
+
+    // Forced logout: every token issued so far for the target stops working, refresh tokens included
+    @PostMapping("/sessions/users/{username}/revoke")
+    public ResponseEntity<ApiResponse<?>> revokeUserSessions(@PathVariable String username) {
+        SessionRevocationResponse res = new SessionRevocationResponse(SessionEpoch.userKey(username),
+                tokenRevocationRegistry.revokeUser(username));
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.OK));
+    }
+
+    @PostMapping("/sessions/roles/{role}/revoke")
+    public ResponseEntity<ApiResponse<?>> revokeRoleSessions(@PathVariable Role role) {
+        SessionRevocationResponse res = new SessionRevocationResponse(SessionEpoch.roleKey(role),
+                tokenRevocationRegistry.revokeRole(role));
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.OK));
+    }
+
+    @PostMapping("/sessions/revoke")
+    public ResponseEntity<ApiResponse<?>> revokeAllSessions() {
+        SessionRevocationResponse res = new SessionRevocationResponse(SessionEpoch.GLOBAL,
+                tokenRevocationRegistry.revokeAll());
+        return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.OK));
+    }
 }
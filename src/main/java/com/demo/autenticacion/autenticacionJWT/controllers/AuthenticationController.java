@@ -3,26 +3,47 @@ package com.demo.autenticacion.autenticacionJWT.controllers;
 import com.demo.autenticacion.autenticacionJWT.apiResponse.ApiResponse;
 import com.demo.autenticacion.autenticacionJWT.dtos.*;
 import com.demo.autenticacion.autenticacionJWT.helpers.ApiResponseBuilder;
+import com.demo.autenticacion.autenticacionJWT.exceptions.ClientCredentialsException;
 import com.demo.autenticacion.autenticacionJWT.services.AuthenticationService;
+import com.demo.autenticacion.autenticacionJWT.services.ClientCredentialsService;
+import com.demo.autenticacion.autenticacionJWT.services.IdempotencyStore;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final IdempotencyStore idempotencyStore;
+    private final ClientCredentialsService clientCredentialsService;
 
 
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService, IdempotencyStore idempotencyStore,
+                                    ClientCredentialsService clientCredentialsService) {
         this.authenticationService = authenticationService;
+        this.idempotencyStore = idempotencyStore;
+        this.clientCredentialsService = clientCredentialsService;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<?>> register(@Valid @RequestBody RegisterRequest registerRequest) {
-            AuthenticationResponse res = authenticationService.register(registerRequest);
+    public ResponseEntity<ApiResponse<?>> register(@Valid @RequestBody RegisterRequest registerRequest,
+                                                   @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                   HttpServletRequest httpRequest) {
+            // Only the user id is kept for the key: tokens are minted per response, so a replay never
+            // hands out ones that have since expired or been revoked
+            Long userId = idempotencyStore.execute("register", httpRequest.getRemoteAddr(), idempotencyKey, registerRequest,
+                    () -> authenticationService.register(registerRequest));
+            AuthenticationResponse res = authenticationService.issueTokens(userId);
             return ResponseEntity.ok(ApiResponseBuilder.success(res, HttpStatus.CREATED));
     }
 
@@ -43,6 +64,27 @@ public class AuthenticationController {
 
     }
 
+    // OAuth 2.0 client-credentials grant; the client authenticates with HTTP Basic or form parameters
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<ClientTokenResponse> token(@RequestParam("grant_type") String grantType,
+                                                     @RequestParam(value = "client_id", required = false) String clientId,
+                                                     @RequestParam(value = "client_secret", required = false) String clientSecret,
+                                                     @RequestParam(value = "scope", required = false) String scope,
+                                                     @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (!"client_credentials".equals(grantType)) {
+            throw new ClientCredentialsException(ClientCredentialsException.UNSUPPORTED_GRANT_TYPE);
+        }
+        if (authorization != null && authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+            String[] credentials = decodeBasic(authorization.substring(6));
+            clientId = credentials[0];
+            clientSecret = credentials[1];
+        }
+        ClientTokenResponse res = clientCredentialsService.issue(clientId, clientSecret, scope);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(res);
+    }
+
     @GetMapping("/validateToken")
     public ResponseEntity<Boolean> validateToken(@RequestParam("token") String token) {
         try {
@@ -53,6 +95,14 @@ public class AuthenticationController {
         }
     }
 
-
-
-}
\ No newline at end of file
+    // Malformed headers yield nulls, which the service rejects like any wrong secret
+    private static String[] decodeBasic(String encoded) {
+        try {
+            String decoded = new String(Base64.getDecoder().decode(encoded.trim()), StandardCharsets.UTF_8);
+            int colon = decoded.indexOf(':');
+            return colon < 0 ? new String[2] : new String[]{decoded.substring(0, colon), decoded.substring(colon + 1)};
+        } catch (IllegalArgumentException ex) {
+            return new String[2];
+        }
+    }
+}
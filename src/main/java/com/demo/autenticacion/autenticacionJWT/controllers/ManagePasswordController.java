@@ -4,11 +4,15 @@ import com.demo.autenticacion.autenticacionJWT.dtos.PasswordChangeRequest;
 import com.demo.autenticacion.autenticacionJWT.dtos.PasswordChangeResponse;
 import com.demo.autenticacion.autenticacionJWT.dtos.PasswordRecoveryRequest;
 import com.demo.autenticacion.autenticacionJWT.dtos.PasswordResetRequest;
-import com.demo.autenticacion.autenticacionJWT.services.AuthenticationService;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidTokenException;
+import com.demo.autenticacion.autenticacionJWT.models.Usuario;
+import com.demo.autenticacion.autenticacionJWT.services.IdempotencyStore;
 import com.demo.autenticacion.autenticacionJWT.services.ManagePasswordService;
 import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
@@ -19,17 +23,22 @@ import java.util.Map;
 public class ManagePasswordController {
 
     private final ManagePasswordService managePasswordService;
+    private final IdempotencyStore idempotencyStore;
 
-    public ManagePasswordController(ManagePasswordService managePasswordService) {
+    public ManagePasswordController(ManagePasswordService managePasswordService, IdempotencyStore idempotencyStore) {
         this.managePasswordService = managePasswordService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @PostMapping("/change-password")
     public ResponseEntity<PasswordChangeResponse> changePassword(@Valid @RequestBody PasswordChangeRequest request,
-                                                                 @RequestHeader("Authorization") String authHeader){
+                                                                 @AuthenticationPrincipal Usuario user){
 
-        String jwt = authHeader.substring(7);
-        managePasswordService.changePassword(jwt, request);
+        // Resolved once by JwtAuthenticationFilter; absent when no valid bearer token was sent
+        if (user == null) {
+            throw InvalidTokenException.MISSING;
+        }
+        managePasswordService.changePassword(user, request);
 
         return ResponseEntity.ok(new PasswordChangeResponse(
                 true,
@@ -39,8 +48,14 @@ public class ManagePasswordController {
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<?> forgotPassword(@Valid @RequestBody PasswordRecoveryRequest request) throws MessagingException {
-        managePasswordService.initiatePasswordRecovery(request.getEmail());
+    public ResponseEntity<?> forgotPassword(@Valid @RequestBody PasswordRecoveryRequest request,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                            HttpServletRequest httpRequest) throws MessagingException {
+        // A replayed key doesn't issue another reset token or send another email
+        idempotencyStore.execute("forgot-password", httpRequest.getRemoteAddr(), idempotencyKey, request, () -> {
+            managePasswordService.initiatePasswordRecovery(request.getEmail());
+            return Boolean.TRUE;
+        });
         return ResponseEntity.ok(
                 Map.of("message", "If the email exists, a recovery link has been sent")
         );
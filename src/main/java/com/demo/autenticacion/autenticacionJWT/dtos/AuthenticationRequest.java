@@ -1,7 +1,8 @@
 package com.demo.autenticacion.autenticacionJWT.dtos;
 
+import com.demo.autenticacion.autenticacionJWT.validation.StrongPassword;
+import com.demo.autenticacion.autenticacionJWT.validation.Username;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,13 +17,11 @@ public class AuthenticationRequest {
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 20, message = "Username must be between 3 and 20 characters")
-    @Pattern(regexp = "^[a-zA-Z0-9_]+$",
-            message = "Username can only contain letters, numbers, and underscores")
+    @Username
     private String username;
 
     @NotBlank(message = "Password is required")
     @Size(min = 8, max = 100, message = "Password must be between 8 and 100 characters")
-    @Pattern(regexp = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]+$",
-            message = "Password must contain at least one uppercase letter, one lowercase letter, one number, and one special character")
+    @StrongPassword
     private String password;
 }
\ No newline at end of file
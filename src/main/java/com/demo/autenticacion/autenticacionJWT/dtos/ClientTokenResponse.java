@@ -0,0 +1,25 @@
+package com.demo.autenticacion.autenticacionJWT.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Standard OAuth 2.0 token response (RFC 6749 section 5.1), so off-the-shelf client libraries can read it
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientTokenResponse {
+    @JsonProperty("access_token")
+    private String accessToken;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    @JsonProperty("expires_in")
+    private long expiresIn;
+
+    private String scope;
+}
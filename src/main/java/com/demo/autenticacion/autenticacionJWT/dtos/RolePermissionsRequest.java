@@ -0,0 +1,20 @@
+package com.demo.autenticacion.autenticacionJWT.dtos;
+
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RolePermissionsRequest {
+
+    @NotNull(message = "Permissions are required")
+    private Set<Permission> permissions;
+}
@@ -0,0 +1,30 @@
+package com.demo.autenticacion.autenticacionJWT.dtos;
+
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import com.demo.autenticacion.autenticacionJWT.models.Role;
+import com.demo.autenticacion.autenticacionJWT.models.RoleDefinition;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RolePermissionsResponse {
+
+    private Role role;
+    private long version;
+    private Set<Permission> permissions;
+
+    public static RolePermissionsResponse of(RoleDefinition definition) {
+        return RolePermissionsResponse.builder()
+                .role(definition.getName())
+                .version(definition.getVersion())
+                .permissions(definition.getPermissions())
+                .build();
+    }
+}
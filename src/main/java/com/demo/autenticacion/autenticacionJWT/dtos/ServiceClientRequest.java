@@ -0,0 +1,29 @@
+package com.demo.autenticacion.autenticacionJWT.dtos;
+
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ServiceClientRequest {
+
+    @NotBlank(message = "Client id is required")
+    @Size(min = 3, max = 64, message = "Client id must be between 3 and 64 characters")
+    @Pattern(regexp = "^[a-zA-Z0-9_.-]+$",
+            message = "Client id can only contain letters, numbers, dots, hyphens and underscores")
+    private String clientId;
+
+    @NotNull(message = "Scopes are required")
+    private Set<Permission> scopes;
+}
@@ -0,0 +1,34 @@
+package com.demo.autenticacion.autenticacionJWT.dtos;
+
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import com.demo.autenticacion.autenticacionJWT.models.ServiceClient;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ServiceClientResponse {
+
+    private String clientId;
+    // Only present right after registration or rotation
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clientSecret;
+    private Set<Permission> scopes;
+    private LocalDateTime createdAt;
+
+    public static ServiceClientResponse of(ServiceClient client) {
+        return ServiceClientResponse.builder()
+                .clientId(client.getClientId())
+                .scopes(client.getScopes())
+                .createdAt(client.getCreatedAt())
+                .build();
+    }
+}
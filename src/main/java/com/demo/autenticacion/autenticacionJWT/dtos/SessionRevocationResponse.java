@@ -0,0 +1,19 @@
+package com.demo.autenticacion.autenticacionJWT.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionRevocationResponse {
+    // "user:<username>", "role:<ROLE>" or "global"
+    private String target;
+    // Tokens of the target issued before this instant are rejected
+    private Instant revokedBefore;
+}
@@ -0,0 +1,11 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+public class ClientCredentialsException extends RuntimeException {
+
+    public static final String UNSUPPORTED_GRANT_TYPE = "grant_type must be client_credentials";
+    public static final String INVALID_SCOPE = "Requested scope is not granted to this client";
+
+    public ClientCredentialsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+public class ExpiredTokenException extends StacklessAuthenticationException {
+
+    public static final ExpiredTokenException ACCESS_TOKEN = new ExpiredTokenException("Token expired");
+    public static final ExpiredTokenException RESET_TOKEN = new ExpiredTokenException("Reset token expired");
+
+    private ExpiredTokenException(String message) {
+        super(message, "TOKEN_EXPIRED", "Token expirado");
+    }
+}
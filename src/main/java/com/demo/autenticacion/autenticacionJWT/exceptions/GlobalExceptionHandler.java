@@ -2,6 +2,7 @@ package com.demo.autenticacion.autenticacionJWT.exceptions;
 
 import com.demo.autenticacion.autenticacionJWT.apiResponse.ApiResponse;
 import com.demo.autenticacion.autenticacionJWT.helpers.ApiResponseBuilder;
+import com.demo.autenticacion.autenticacionJWT.helpers.StaticErrorBody;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
@@ -11,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -21,15 +23,34 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // Cuerpos pre-serializados para los fallos más frecuentes (p. ej. durante ataques de fuerza bruta)
+    private static final StaticErrorBody BAD_CREDENTIALS = StaticErrorBody.of(
+            "BAD_CREDENTIALS",
+            "Usuario o contraseña incorrecta",
+            HttpStatus.UNAUTHORIZED,
+            "Bad credentials");
+
+    private static final StaticErrorBody USER_NOT_FOUND = StaticErrorBody.of(
+            "BAD_CREDENTIALS",
+            "Usuario o contraseña incorrecta",
+            HttpStatus.UNAUTHORIZED,
+            UserNotFoundException.INSTANCE.getMessage());
+
+    // Las excepciones sin stack trace son instancias constantes, así que este mapa está acotado
+    private static final Map<StacklessAuthenticationException, StaticErrorBody> STACKLESS_BODIES = new ConcurrentHashMap<>();
+
+    private static final String VALIDATION_FAILED = "Validation failed";
+
     // 1. Recurso no encontrado
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<?>> handleResourceNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
@@ -44,7 +65,42 @@ public class GlobalExceptionHandler {
 
     // 2. Credenciales inválidas
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<ApiResponse<?>> handleBadCredentials(BadCredentialsException ex, HttpServletRequest request) {
+    public ResponseEntity<?> handleBadCredentials(BadCredentialsException ex, HttpServletRequest request) {
+        if (BAD_CREDENTIALS.matches(ex.getMessage())) {
+            return BAD_CREDENTIALS.toResponse(request.getRequestURI());
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponseBuilder.error(
+                        "BAD_CREDENTIALS",
+                        "Usuario o contraseña incorrecta",
+                        HttpStatus.UNAUTHORIZED,
+                        ex.getMessage(),
+                        request.getRequestURI()));
+    }
+
+    // 2.1 Fallos de autenticación esperados (tokens inválidos o expirados, credenciales erróneas)
+    @ExceptionHandler(StacklessAuthenticationException.class)
+    public ResponseEntity<?> handleStacklessAuthentication(StacklessAuthenticationException ex, HttpServletRequest request) {
+        StaticErrorBody body = STACKLESS_BODIES.computeIfAbsent(ex, e -> StaticErrorBody.of(
+                e.getErrorType(), e.getTitle(), HttpStatus.UNAUTHORIZED, e.getMessage()));
+        if (body.matches(ex.getMessage())) {
+            return body.toResponse(request.getRequestURI());
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponseBuilder.error(
+                        ex.getErrorType(),
+                        ex.getTitle(),
+                        HttpStatus.UNAUTHORIZED,
+                        ex.getMessage(),
+                        request.getRequestURI()));
+    }
+
+    // 2.2 Usuario inexistente (token de un usuario eliminado)
+    @ExceptionHandler(UsernameNotFoundException.class)
+    public ResponseEntity<?> handleUserNotFound(UsernameNotFoundException ex, HttpServletRequest request) {
+        if (USER_NOT_FOUND.matches(ex.getMessage())) {
+            return USER_NOT_FOUND.toResponse(request.getRequestURI());
+        }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponseBuilder.error(
                         "BAD_CREDENTIALS",
@@ -57,21 +113,21 @@ public class GlobalExceptionHandler {
     // 3. Validaciones con @Valid en DTOs
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<?>> handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
-        Map<String, String> errors = ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .collect(Collectors.toMap(
-                        FieldError::getField,
-                        fieldError -> Objects.requireNonNullElse(fieldError.getDefaultMessage(), "Invalid value"),
-                        (msg1, msg2) -> msg1 + "; " + msg2
-                ));
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> errors = new HashMap<>(fieldErrors.size() * 2);
+        for (FieldError fieldError : fieldErrors) {
+            errors.merge(fieldError.getField(),
+                    Objects.requireNonNullElse(fieldError.getDefaultMessage(), "Invalid value"),
+                    (msg1, msg2) -> msg1 + "; " + msg2);
+        }
 
+        // ex.getMessage() vuelca todo el BindingResult; el detalle útil ya va en "details"
         return ResponseEntity.badRequest()
                 .body(ApiResponseBuilder.validationError(
                         "VALIDATION_ERROR",
                         "Error de validación",
                         HttpStatus.BAD_REQUEST,
-                        ex.getMessage(),
+                        VALIDATION_FAILED,
                         request.getRequestURI(),
                         errors));
     }
@@ -117,6 +173,51 @@ public class GlobalExceptionHandler {
                 request.getRequestURI(),
                 errors));
     }
+    // 4.1 Usuario o email ya registrados (detectado antes de insertar)
+    @ExceptionHandler(DuplicateUserException.class)
+    public ResponseEntity<ApiResponse<?>> handleDuplicateUser(DuplicateUserException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponseBuilder.validationError("CONSTRAINT CONFLICT",
+                "Conflicto por restricción",
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                request.getRequestURI(),
+                Map.of(ex.getField(), ex.getMessage())));
+    }
+
+    // 4.2 Idempotency-Key reutilizada con otra petición
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<ApiResponse<?>> handleIdempotencyKey(IdempotencyKeyException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponseBuilder.validationError("IDEMPOTENCY_KEY",
+                "Clave de idempotencia no válida",
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                ex.getMessage(),
+                request.getRequestURI(),
+                Map.of("Idempotency-Key", ex.getMessage())));
+    }
+
+    // 4.3 Solicitud de token de cliente no válida (grant_type o scope)
+    @ExceptionHandler(ClientCredentialsException.class)
+    public ResponseEntity<ApiResponse<?>> handleClientCredentials(ClientCredentialsException ex, HttpServletRequest request) {
+        return ResponseEntity.badRequest()
+                .body(ApiResponseBuilder.error(
+                        "INVALID_TOKEN_REQUEST",
+                        "Solicitud de token no válida",
+                        HttpStatus.BAD_REQUEST,
+                        ex.getMessage(),
+                        request.getRequestURI()));
+    }
+
+    // 4.4 Cambio de permisos que dejaría a todos sin acceso a la administración de roles
+    @ExceptionHandler(RolePermissionsException.class)
+    public ResponseEntity<ApiResponse<?>> handleRolePermissions(RolePermissionsException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiResponseBuilder.validationError("ROLE_PERMISSIONS",
+                "Permisos de rol no válidos",
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                ex.getMessage(),
+                request.getRequestURI(),
+                Map.of("permissions", ex.getMessage())));
+    }
+
     // 5. Parámetros faltantes
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ApiResponse<?>> handleMissingParams(MissingServletRequestParameterException ex, HttpServletRequest request) {
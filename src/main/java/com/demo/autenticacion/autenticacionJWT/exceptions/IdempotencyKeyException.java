@@ -0,0 +1,11 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+public class IdempotencyKeyException extends RuntimeException {
+
+    public static final String REUSED = "Idempotency-Key was already used with a different request";
+    public static final String TOO_LONG = "Idempotency-Key cannot exceed 255 characters";
+
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
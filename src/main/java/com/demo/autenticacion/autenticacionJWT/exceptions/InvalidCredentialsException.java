@@ -0,0 +1,16 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+public class InvalidCredentialsException extends StacklessAuthenticationException {
+
+    public static final InvalidCredentialsException INVALID_LOGIN = new InvalidCredentialsException("Invalid username or password");
+    public static final InvalidCredentialsException WRONG_CURRENT_PASSWORD = new InvalidCredentialsException("Current password is incorrect");
+    public static final InvalidCredentialsException INVALID_CLIENT = new InvalidCredentialsException("Invalid client credentials", "Cliente o secreto incorrecto");
+
+    private InvalidCredentialsException(String message) {
+        this(message, "Usuario o contraseña incorrecta");
+    }
+
+    private InvalidCredentialsException(String message, String title) {
+        super(message, "BAD_CREDENTIALS", title);
+    }
+}
@@ -0,0 +1,18 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+// Structurally invalid, unverifiable or orphaned tokens (JWTs and password reset tokens).
+public class InvalidTokenException extends StacklessAuthenticationException {
+
+    public static final InvalidTokenException MISSING = new InvalidTokenException("Authentication token is required");
+    public static final InvalidTokenException TOO_LONG = new InvalidTokenException("Token exceeds the maximum length");
+    public static final InvalidTokenException MALFORMED = new InvalidTokenException("Malformed token");
+    public static final InvalidTokenException UNSUPPORTED_ALGORITHM = new InvalidTokenException("Unsupported token algorithm");
+    public static final InvalidTokenException INVALID = new InvalidTokenException("Invalid token");
+    public static final InvalidTokenException UNKNOWN_SUBJECT = new InvalidTokenException("Token subject does not exist");
+    public static final InvalidTokenException REVOKED = new InvalidTokenException("Token has been revoked");
+    public static final InvalidTokenException UNKNOWN_RESET_TOKEN = new InvalidTokenException("Invalid reset token");
+
+    private InvalidTokenException(String message) {
+        super(message, "INVALID_TOKEN", "Token inválido");
+    }
+}
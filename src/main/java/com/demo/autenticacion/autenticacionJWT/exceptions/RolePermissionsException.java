@@ -0,0 +1,10 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+public class RolePermissionsException extends RuntimeException {
+
+    public static final String ADMIN_LOCKOUT = "ADMIN must keep ADMIN_ACCESS and ROLES_MANAGE";
+
+    public RolePermissionsException(String message) {
+        super(message);
+    }
+}
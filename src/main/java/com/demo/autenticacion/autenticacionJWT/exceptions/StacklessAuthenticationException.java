@@ -0,0 +1,31 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+import org.springframework.security.core.AuthenticationException;
+
+// Base type for expected authentication failures. They are thrown from shared constant instances
+// and never capture a stack trace, so a flood of failed logins or bad tokens does not pay for
+// stack walking. The type/title pair is what GlobalExceptionHandler reports to the client.
+public abstract class StacklessAuthenticationException extends AuthenticationException {
+
+    private final String errorType;
+    private final String title;
+
+    protected StacklessAuthenticationException(String message, String errorType, String title) {
+        super(message);
+        this.errorType = errorType;
+        this.title = title;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
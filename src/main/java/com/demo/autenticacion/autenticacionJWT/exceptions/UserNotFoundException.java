@@ -0,0 +1,19 @@
+package com.demo.autenticacion.autenticacionJWT.exceptions;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+// Stays a UsernameNotFoundException so DaoAuthenticationProvider keeps hiding it behind
+// BadCredentialsException; like StacklessAuthenticationException it skips the stack trace.
+public class UserNotFoundException extends UsernameNotFoundException {
+
+    public static final UserNotFoundException INSTANCE = new UserNotFoundException("User not found");
+
+    private UserNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,90 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Concurrency limit that adapts to observed latency, in the style of a gradient limiter: a long-term
+// latency baseline is compared with each sample, and the limit shrinks as latency rises above the
+// baseline (queueing) and grows by ~sqrt(limit) while latency stays flat. Failures back the limit off
+// multiplicatively. Acquiring is a single CAS; limit updates are skipped rather than waited for when
+// another thread is already applying one.
+public class AdaptiveLimiter {
+
+    private static final double TOLERANCE = 1.5;     // latency may rise this much over baseline before shrinking
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_WINDOW = 500;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    // Guarded by updateLock
+    private double estimatedLimit;
+    private double baselineNanos;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.estimatedLimit = this.limit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Must follow every successful tryAcquire()
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            if (failed) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF);
+            } else {
+                update(Math.max(1, latencyNanos), inFlightBefore);
+            }
+            limit = (int) estimatedLimit;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void update(long sampleNanos, int inFlightBefore) {
+        if (baselineNanos == 0) {
+            baselineNanos = sampleNanos;
+        } else if (baselineNanos > 2 * sampleNanos) {
+            baselineNanos *= 0.95; // latency dropped well below the baseline: let it catch up quickly
+        } else {
+            baselineNanos += (sampleNanos - baselineNanos) / BASELINE_WINDOW;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / sampleNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        // Only grow when the limit is actually being used, otherwise it drifts up while idle
+        if (target > estimatedLimit && inFlightBefore < estimatedLimit / 2) {
+            return;
+        }
+        double next = estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
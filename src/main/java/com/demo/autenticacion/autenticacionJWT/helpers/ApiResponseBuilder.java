@@ -29,8 +29,7 @@ public class ApiResponseBuilder {
     }
 
     public static ApiResponse<Void> validationError(String type, String title, HttpStatus status, String errorMessage, String instance, Map<String, String> fieldErrors) {
-        ApiError error = new ApiError(status, errorMessage);
-        fieldErrors.forEach(error::withDetail);
+        ApiError error = new ApiError(status, errorMessage).withDetails(fieldErrors);
         return new ApiResponse<>(false,
                 type,
                 title,
@@ -0,0 +1,61 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Prints the audit trail as NDJSON, oldest first, optionally filtered:
+//   java -cp <app classpath> com.demo.autenticacion.autenticacionJWT.helpers.AuditLogReader logs/audit [--type=LOGIN] [--user=jdoe] [--failures]
+public final class AuditLogReader {
+
+    private static final String PREFIX = "audit";
+
+    private AuditLogReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: AuditLogReader <directory> [--type=TYPE] [--user=USERNAME] [--failures]");
+            System.exit(2);
+        }
+        String type = null;
+        String user = null;
+        boolean failuresOnly = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--type=")) {
+                type = "\"type\":\"" + args[i].substring(7) + "\"";
+            } else if (args[i].startsWith("--user=")) {
+                user = "\"user\":\"" + JsonStrings.escape(args[i].substring(7)) + "\"";
+            } else if (args[i].equals("--failures")) {
+                failuresOnly = true;
+            }
+        }
+
+        OutputStream out = new BufferedOutputStream(System.out);
+        for (Path segment : MappedSegmentWriter.listSegments(Path.of(args[0]), PREFIX)) {
+            try (InputStream in = Files.newInputStream(segment)) {
+                byte[] data = in.readAllBytes();
+                int start = 0;
+                for (int i = 0; i < data.length && data[i] != 0; i++) {
+                    if (data[i] != '\n') {
+                        continue;
+                    }
+                    String line = new String(data, start, i - start, StandardCharsets.UTF_8);
+                    start = i + 1;
+                    if ((type == null || line.contains(type))
+                            && (user == null || line.contains(user))
+                            && (!failuresOnly || line.endsWith("\"ok\":false}"))) {
+                        out.write(line.getBytes(StandardCharsets.UTF_8));
+                        out.write('\n');
+                    }
+                }
+                // Anything after the last newline is a record still being written, or the zero-filled tail
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,77 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// A template body split once into literal text and {{placeholder}} slots. Rendering is a single
+// append pass over the segments into a caller-supplied builder; values are HTML-escaped when the
+// template is HTML.
+public final class MailTemplate {
+
+    private final String[] literals;   // literals.length == keys.length + 1
+    private final String[] keys;
+    private final boolean html;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] keys, boolean html) {
+        this.literals = literals;
+        this.keys = keys;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MailTemplate parse(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                literals.add(source.substring(pos));
+                break;
+            }
+            literals.add(source.substring(pos, open));
+            keys.add(source.substring(open + 2, close).trim());
+            pos = close + 2;
+        }
+        return new MailTemplate(literals.toArray(String[]::new), keys.toArray(String[]::new), html);
+    }
+
+    // Missing values render as empty text
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        out.ensureCapacity(out.length() + literalLength + 64 * keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(keys[i]);
+            if (value == null) {
+                continue;
+            }
+            if (html) {
+                appendHtmlEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[keys.length]);
+    }
+
+    private static void appendHtmlEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
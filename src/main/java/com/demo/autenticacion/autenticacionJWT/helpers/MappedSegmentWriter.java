@@ -0,0 +1,93 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Append-only writer over fixed-size memory-mapped segment files. A record that doesn't fit in the
+// current segment opens the next one; the unused tail of a segment stays zero-filled, which readers
+// treat as end of data. Only the oldest segments beyond maxSegments are deleted. Not thread-safe:
+// meant to be owned by a single writer thread.
+public class MappedSegmentWriter implements Closeable {
+
+    public static final String SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int sequence;
+    private boolean dirty;
+
+    public MappedSegmentWriter(Path directory, String prefix, int segmentSize, int maxSegments) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(1, maxSegments);
+        rotate();
+    }
+
+    // Returns false for a record larger than a whole segment, which is dropped
+    public boolean append(byte[] record) throws IOException {
+        if (record.length > segmentSize) {
+            return false;
+        }
+        if (buffer.remaining() < record.length) {
+            rotate();
+        }
+        buffer.put(record);
+        dirty = true;
+        return true;
+    }
+
+    public void flush() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void rotate() throws IOException {
+        if (channel != null) {
+            close();
+        }
+        // Zero-padded so the lexical order of file names is the write order
+        Path segment = directory.resolve(String.format("%s-%013d-%05d%s", prefix, System.currentTimeMillis(), sequence++, SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() throws IOException {
+        List<Path> segments = listSegments(directory, prefix);
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    public static List<Path> listSegments(Path directory, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix + "-") && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded lock-free queue for many producers and a single consumer. Each slot carries a sequence
+// number: producers claim a position with one CAS and publish by advancing the slot sequence, so a
+// full buffer makes offer() fail immediately instead of blocking the caller.
+public class MpscRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only touched by the consumer thread
+    private long head;
+
+    public MpscRingBuffer(int capacity) {
+        int size = Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1); // publishes the slot to the consumer
+                    return true;
+                }
+                position = tail.get();
+            } else if (distance < 0) {
+                return false; // the consumer hasn't freed this slot yet: buffer full
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.set(index, head + slots.length); // hands the slot back to producers for the next lap
+        head++;
+        return element;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Longest-prefix lookup over '/'-separated path segments. "/a/b/**" covers /a/b and everything below
+// it, a pattern without "/**" covers exactly that path, and an exact entry beats a prefix on the same
+// node. Filled once at startup and only read afterwards, so lookups need no locking.
+public class PathPrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    public void put(String pattern, V value) {
+        boolean prefix = pattern.endsWith("/**");
+        String path = prefix ? pattern.substring(0, pattern.length() - 3) : pattern;
+        Node<V> node = root;
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, key -> new Node<>());
+            }
+        }
+        if (prefix) {
+            node.prefix = value;
+        } else {
+            node.exact = value;
+        }
+    }
+
+    // One pass over the path: walks matching segments, remembering the deepest prefix entry seen
+    public V resolve(String path, V fallback) {
+        Node<V> node = root;
+        V best = root.prefix;
+        int start = 0;
+        int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return best != null ? best : fallback;
+                }
+                if (node.prefix != null) {
+                    best = node.prefix;
+                }
+            }
+            start = end + 1;
+        }
+        if (node.exact != null) {
+            return node.exact;
+        }
+        return best != null ? best : fallback;
+    }
+
+    private static final class Node<V> {
+        private final Map<String, Node<V>> children = new HashMap<>();
+        private V exact;
+        private V prefix;
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import java.time.Instant;
+
+// Millisecond-resolution timestamp source for response envelopes. Responses produced within
+// the same millisecond share one formatted string instead of each formatting its own Instant.
+public final class ResponseClock {
+
+    private static volatile Tick current = new Tick(Long.MIN_VALUE, "");
+
+    private ResponseClock() {
+    }
+
+    public static String now() {
+        long millis = System.currentTimeMillis();
+        Tick tick = current;
+        if (tick.millis() != millis) {
+            tick = new Tick(millis, Instant.ofEpochMilli(millis).toString());
+            current = tick;
+        }
+        return tick.formatted();
+    }
+
+    private record Tick(long millis, String formatted) {
+    }
+}
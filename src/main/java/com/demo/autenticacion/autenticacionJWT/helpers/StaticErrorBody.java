@@ -0,0 +1,67 @@
+package com.demo.autenticacion.autenticacionJWT.helpers;
+
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+// Error envelope serialized once at class-load time. Only the timestamp and the request URI are
+// spliced in per response, so hot failure paths skip ApiResponse/ApiError and Jackson entirely.
+// The byte layout mirrors what Jackson produces for ApiResponseBuilder.error(...).
+public final class StaticErrorBody {
+
+    private final HttpStatus status;
+    private final String description;
+    private final byte[] head;
+    private final byte[] middle;
+    private final byte[] tail;
+
+    private StaticErrorBody(String type, String title, HttpStatus status, String description) {
+        this.status = status;
+        this.description = description;
+        this.head = ("{\"success\":false,\"type\":\"" + JsonStrings.escape(type) + "\",\"title\":\"" + JsonStrings.escape(title)
+                + "\",\"status\":" + status.value() + ",\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
+        this.middle = "\",\"instance\":\"".getBytes(StandardCharsets.UTF_8);
+        this.tail = ("\",\"error\":{\"status\":" + status.value() + ",\"description\":\"" + JsonStrings.escape(description)
+                + "\"}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static StaticErrorBody of(String type, String title, HttpStatus status, String description) {
+        return new StaticErrorBody(type, title, status, description);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    // A pre-built body is only interchangeable with the dynamic one when the description matches
+    // and there is no per-request trace id to report.
+    public boolean matches(String errorMessage) {
+        return description.equals(errorMessage) && MDC.get("traceId") == null;
+    }
+
+    public byte[] render(String instance) {
+        byte[] timestamp = ResponseClock.now().getBytes(StandardCharsets.US_ASCII);
+        byte[] uri = JsonStrings.escape(instance).getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[head.length + timestamp.length + middle.length + uri.length + tail.length];
+        int pos = 0;
+        System.arraycopy(head, 0, body, pos, head.length);
+        pos += head.length;
+        System.arraycopy(timestamp, 0, body, pos, timestamp.length);
+        pos += timestamp.length;
+        System.arraycopy(middle, 0, body, pos, middle.length);
+        pos += middle.length;
+        System.arraycopy(uri, 0, body, pos, uri.length);
+        pos += uri.length;
+        System.arraycopy(tail, 0, body, pos, tail.length);
+        return body;
+    }
+
+    public ResponseEntity<byte[]> toResponse(String instance) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(render(instance));
+    }
+}
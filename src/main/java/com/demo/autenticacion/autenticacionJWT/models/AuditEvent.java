@@ -0,0 +1,26 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.JsonStrings;
+
+import java.nio.charset.StandardCharsets;
+
+// One line of the authentication audit trail. Never carries secrets: no passwords, tokens or links.
+public record AuditEvent(long timestamp, Type type, String username, boolean success) {
+
+    public enum Type {
+        REGISTER,
+        LOGIN,
+        TOKEN_REFRESH,
+        TOKEN_VALIDATION,
+        PASSWORD_CHANGE,
+        PASSWORD_RESET_REQUEST,
+        PASSWORD_RESET
+    }
+
+    // {"ts":1735689600000,"type":"LOGIN","user":"jdoe","ok":false}
+    public byte[] toNdjson() {
+        String user = username == null ? "null" : "\"" + JsonStrings.escape(username) + "\"";
+        return ("{\"ts\":" + timestamp + ",\"type\":\"" + type.name() + "\",\"user\":" + user
+                + ",\"ok\":" + success + "}\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+// Cluster-wide cache invalidation notice. Handlers must be idempotent: the outbox poller may
+// deliver the same event more than once.
+public record InvalidationEvent(Type type, String key, long createdAt) {
+
+    public enum Type {
+        USER_CHANGED,     // key = username; cached Usuario data is stale
+        TOKEN_REVOKED,    // key = username; tokens issued before createdAt are no longer valid
+        ROLE_CHANGED,     // key = role name; its permission set has a new version
+        CLIENT_CHANGED,   // key = client id; service client registered, rotated or removed
+        SESSIONS_REVOKED  // key = SessionEpoch key; forced logout of a user, a role or everyone as of createdAt
+    }
+}
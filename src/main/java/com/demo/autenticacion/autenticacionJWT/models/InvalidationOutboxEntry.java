@@ -0,0 +1,39 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "auth_invalidation_events")
+public class InvalidationOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // plain VARCHAR so new event types need no schema change
+    @Column(nullable = false, length = 20)
+    private InvalidationEvent.Type type;
+
+    @Column(name = "event_key", nullable = false, length = 100)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+
+    public InvalidationEvent toEvent() {
+        return new InvalidationEvent(type, key, createdAt);
+    }
+}
@@ -0,0 +1,19 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+// Emails the service can send. Each one is backed by templates/mail/<template>[_<lang>].mail
+public enum NotificationType {
+    PASSWORD_RESET("password-reset"),
+    WELCOME("welcome"),
+    PASSWORD_CHANGED("password-changed"),
+    LOCKOUT("lockout");
+
+    private final String template;
+
+    NotificationType(String template) {
+        this.template = template;
+    }
+
+    public String template() {
+        return template;
+    }
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -20,8 +22,11 @@ public class PasswordResetToken {
 
     private String token;
 
-    @OneToOne(targetEntity = Usuario.class, fetch = FetchType.EAGER)
+    // Lazy: expiry checks and cleanup only need this row; the redemption query joins what it needs
+    @OneToOne(targetEntity = Usuario.class, fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "usuario_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Usuario user;
 
     private LocalDateTime expiryDateToken;
@@ -0,0 +1,70 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+
+// Fine-grained grants attached to roles (roles/role_permissions tables). Each permission owns one
+// bit of a long mask for cheap checks, and one shared authority instance.
+public enum Permission {
+    USER_ACCESS(0, "user:access"),
+    ADMIN_ACCESS(1, "admin:access"),
+    USERS_READ(2, "users:read"),
+    USERS_WRITE(3, "users:write"),
+    ROLES_MANAGE(4, "roles:manage");
+
+    // Bits only live in memory (the DB stores codes), so they may be renumbered between releases
+    private final long bit;
+    private final String code;
+    private final GrantedAuthority authority;
+
+    Permission(int index, String code) {
+        this.bit = 1L << index;
+        this.code = code;
+        this.authority = new SimpleGrantedAuthority(code);
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public GrantedAuthority authority() {
+        return authority;
+    }
+
+    public static long mask(Collection<Permission> permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.bit;
+        }
+        return mask;
+    }
+
+    // Null for codes this release does not know
+    public static Permission ofCode(String code) {
+        for (Permission permission : values()) {
+            if (permission.code.equals(code)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+
+    // For principals that are not a Usuario and only carry authority strings
+    public static long maskOfAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            for (Permission permission : values()) {
+                if (permission.code.equals(authority.getAuthority())) {
+                    mask |= permission.bit;
+                }
+            }
+        }
+        return mask;
+    }
+}
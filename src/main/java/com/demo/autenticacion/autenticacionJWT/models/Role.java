@@ -1,7 +1,81 @@
 package com.demo.autenticacion.autenticacionJWT.models;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 public enum Role {
-    USER,
-    ADMIN
+    USER(1, EnumSet.of(Permission.USER_ACCESS)),
+    ADMIN(2, EnumSet.allOf(Permission.class));
+
+    // Stable bit used by the compact token format; never reuse a bit once issued tokens carry it
+    private final int bit;
+    private final GrantedAuthority authority = new SimpleGrantedAuthority(name());
+    // Current permission set as published by PermissionRegistry; starts from the V4 seed defaults
+    private volatile Grant grant;
+
+    Role(int bit, Set<Permission> defaults) {
+        this.bit = bit;
+        this.grant = Grant.of(-1, this, defaults);
+    }
+
+    public int bit() {
+        return bit;
+    }
+
+    public GrantedAuthority authority() {
+        return authority;
+    }
+
+    // Immutable and shared by every user with this role: the role authority plus its permissions
+    public List<GrantedAuthority> authorities() {
+        return grant.authorities();
+    }
+
+    public long permissionMask() {
+        return grant.mask();
+    }
+
+    public long version() {
+        return grant.version();
+    }
+
+    public boolean has(Permission permission) {
+        return (grant.mask() & permission.bit()) != 0;
+    }
+
+    // Ignores versions older than the one already applied, so late or repeated reloads are harmless
+    public synchronized void apply(long version, Set<Permission> permissions) {
+        if (version > grant.version()) {
+            grant = Grant.of(version, this, permissions);
+        }
+    }
+
+    public static int mask(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            for (Role role : values()) {
+                if (role.name().equals(authority.getAuthority())) {
+                    mask |= role.bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private record Grant(long version, long mask, List<GrantedAuthority> authorities) {
+        static Grant of(long version, Role role, Set<Permission> permissions) {
+            List<GrantedAuthority> authorities = new ArrayList<>(permissions.size() + 1);
+            authorities.add(role.authority);
+            for (Permission permission : permissions) {
+                authorities.add(permission.authority());
+            }
+            return new Grant(version, Permission.mask(permissions), List.copyOf(authorities));
+        }
+    }
 }
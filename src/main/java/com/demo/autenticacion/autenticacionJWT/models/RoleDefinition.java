@@ -0,0 +1,41 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Permission set of a role. The version is bumped on every change (including changes to the
+// permission collection), so nodes can tell a stale copy apart and concurrent edits don't overwrite each other.
+// It is null until the row is first stored, which is how Spring Data tells a new role from an existing one.
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "roles")
+public class RoleDefinition {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
+    private Role name;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role"))
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "permission", nullable = false, length = 64)
+    @Builder.Default
+    private Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+}
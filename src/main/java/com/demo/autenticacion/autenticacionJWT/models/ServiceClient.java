@@ -0,0 +1,42 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Machine client allowed to use the client-credentials grant. Only an HMAC of the secret is kept;
+// the secret itself is shown once, when the client is registered or its secret rotated.
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "service_clients")
+public class ServiceClient {
+    @Id
+    @Column(name = "client_id", length = 64)
+    private String clientId;
+
+    @Column(name = "secret_hash", nullable = false, length = 32)
+    private byte[] secretHash;
+
+    // Upper bound of what its tokens may carry
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "service_client_scopes", joinColumns = @JoinColumn(name = "client_id"))
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "permission", nullable = false, length = 64)
+    @Builder.Default
+    private Set<Permission> scopes = EnumSet.noneOf(Permission.class);
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,68 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Principal behind a client-credentials token. Built from the token alone: its scope claim becomes
+// the authorities, which RouteAuthorization maps back to permission bits, and its secret version is
+// checked against ServiceClientRegistry before the token is accepted.
+public final class ServiceClientPrincipal implements UserDetails {
+
+    // Usernames cannot contain ':', so client subjects never collide with a Usuario
+    public static final String SUBJECT_PREFIX = "client:";
+
+    private final String subject;
+    private final List<GrantedAuthority> authorities;
+    private final String secretVersion;
+
+    private ServiceClientPrincipal(String subject, List<GrantedAuthority> authorities, String secretVersion) {
+        this.subject = subject;
+        this.authorities = authorities;
+        this.secretVersion = secretVersion;
+    }
+
+    public static String subjectOf(String clientId) {
+        return SUBJECT_PREFIX + clientId;
+    }
+
+    // scope is the space-separated permission codes of the token; unknown codes are ignored
+    public static ServiceClientPrincipal fromToken(String subject, String scope, String secretVersion) {
+        List<GrantedAuthority> authorities = new ArrayList<>(4);
+        if (scope != null) {
+            for (String code : scope.split(" ")) {
+                Permission permission = Permission.ofCode(code);
+                if (permission != null) {
+                    authorities.add(permission.authority());
+                }
+            }
+        }
+        return new ServiceClientPrincipal(subject, List.copyOf(authorities), secretVersion);
+    }
+
+    public String getClientId() {
+        return subject.substring(SUBJECT_PREFIX.length());
+    }
+
+    public String getSecretVersion() {
+        return secretVersion;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return subject;
+    }
+}
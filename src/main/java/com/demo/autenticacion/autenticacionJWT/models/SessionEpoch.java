@@ -0,0 +1,41 @@
+package com.demo.autenticacion.autenticacionJWT.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Session cut-off from a forced logout or a credential change: tokens of the target issued before
+// notBefore (epoch milliseconds) are rejected. The key names the target: "user:<username>",
+// "role:<ROLE>" or "global".
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "session_epochs")
+public class SessionEpoch {
+
+    public static final String GLOBAL = "global";
+    public static final String USER_PREFIX = "user:";
+    public static final String ROLE_PREFIX = "role:";
+
+    @Id
+    @Column(name = "epoch_key", length = 110)
+    private String key;
+
+    @Column(name = "not_before", nullable = false)
+    private long notBefore;
+
+    public static String userKey(String username) {
+        return USER_PREFIX + username;
+    }
+
+    public static String roleKey(Role role) {
+        return ROLE_PREFIX + role.name();
+    }
+}
@@ -7,11 +7,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 @Data
 @Builder
@@ -51,13 +49,14 @@ public class Usuario implements UserDetails {
     private String password;
 
     @NotNull(message = "Role is required")
-    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING) // ENUM('USER','ADMIN') column, see db/migration
+    @Column(nullable = false)
     private Role role;
 
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(role.name()));
+        return role.authorities(); // shared immutable list, kept current by PermissionRegistry
     }
 
     @Override
@@ -0,0 +1,23 @@
+package com.demo.autenticacion.autenticacionJWT.repositories;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface InvalidationOutboxRepository extends JpaRepository<InvalidationOutboxEntry, Long> {
+    @Query(value = "SELECT e FROM InvalidationOutboxEntry e WHERE e.id > :afterId ORDER BY e.id")
+    List<InvalidationOutboxEntry> findAfter(long afterId, Pageable page);
+
+    @Query(value = "SELECT COALESCE(MAX(e.id), 0) FROM InvalidationOutboxEntry e")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM InvalidationOutboxEntry e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(long cutoff);
+}
@@ -1,13 +1,36 @@
 package com.demo.autenticacion.autenticacionJWT.repositories;
 
 import com.demo.autenticacion.autenticacionJWT.models.PasswordResetToken;
-import com.demo.autenticacion.autenticacionJWT.models.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     @Query(value = "SELECT t FROM PasswordResetToken t WHERE t.token = :token")
     Optional<PasswordResetToken> findByToken(String token);
+
+    // Redemption path: the only lookup that joins usuarios, and only for the columns it needs
+    @Query(value = "SELECT t.user.id AS userId, t.user.username AS username, t.user.email AS email, " +
+            "t.user.firstName AS firstName, t.expiryDateToken AS expiryDateToken " +
+            "FROM PasswordResetToken t WHERE t.token = :token")
+    Optional<ResetTokenOwner> findOwnerByToken(String token);
+
+    // Compare-and-delete: only one concurrent redemption can see a count of 1
+    @Modifying
+    @Query(value = "DELETE FROM PasswordResetToken t WHERE t.token = :token AND t.expiryDateToken > :now")
+    int deleteIfValid(String token, LocalDateTime now);
+
+    // t.user.id resolves to the usuario_id column, so neither delete joins usuarios
+    @Modifying
+    @Query(value = "DELETE FROM PasswordResetToken t WHERE t.user.id = :userId")
+    int deleteByUserId(Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM PasswordResetToken t WHERE t.expiryDateToken <= :now")
+    int deleteExpired(LocalDateTime now);
 }
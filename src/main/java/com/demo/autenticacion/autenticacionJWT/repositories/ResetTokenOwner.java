@@ -0,0 +1,16 @@
+package com.demo.autenticacion.autenticacionJWT.repositories;
+
+import java.time.LocalDateTime;
+
+// What redeeming a reset token needs to know, without hydrating PasswordResetToken or Usuario.
+public interface ResetTokenOwner {
+    Long getUserId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getFirstName();
+
+    LocalDateTime getExpiryDateToken();
+}
@@ -0,0 +1,8 @@
+package com.demo.autenticacion.autenticacionJWT.repositories;
+
+import com.demo.autenticacion.autenticacionJWT.models.Role;
+import com.demo.autenticacion.autenticacionJWT.models.RoleDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RoleDefinitionRepository extends JpaRepository<RoleDefinition, Role> {
+}
@@ -0,0 +1,7 @@
+package com.demo.autenticacion.autenticacionJWT.repositories;
+
+import com.demo.autenticacion.autenticacionJWT.models.ServiceClient;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ServiceClientRepository extends JpaRepository<ServiceClient, String> {
+}
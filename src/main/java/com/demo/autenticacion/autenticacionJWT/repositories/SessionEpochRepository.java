@@ -0,0 +1,16 @@
+package com.demo.autenticacion.autenticacionJWT.repositories;
+
+import com.demo.autenticacion.autenticacionJWT.models.SessionEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface SessionEpochRepository extends JpaRepository<SessionEpoch, String> {
+
+    // Role and global cut-offs are few and kept; per-user ones go once every token they cover has expired
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM SessionEpoch e WHERE e.key LIKE 'user:%' AND e.notBefore < :oldest")
+    int deleteUserEpochsBefore(long oldest);
+}
@@ -0,0 +1,8 @@
+package com.demo.autenticacion.autenticacionJWT.repositories;
+
+// Projection used to warm the in-memory username/email index without hydrating full entities.
+public interface UsuarioIdentity {
+    String getUsername();
+
+    String getEmail();
+}
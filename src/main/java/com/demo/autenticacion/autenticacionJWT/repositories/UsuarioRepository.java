@@ -2,11 +2,14 @@ package com.demo.autenticacion.autenticacionJWT.repositories;
 
 import com.demo.autenticacion.autenticacionJWT.models.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Query(value = "SELECT u FROM Usuario u WHERE u.username = :username")
@@ -14,4 +17,16 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     @Query(value = "SELECT u FROM Usuario u WHERE u.email = :email")
     Optional<Usuario> findByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE Usuario u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(Long id, String password);
+
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    @Query(value = "SELECT u.username AS username, u.email AS email FROM Usuario u")
+    Stream<UsuarioIdentity> streamIdentities();
 }
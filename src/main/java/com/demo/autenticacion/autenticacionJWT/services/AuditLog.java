@@ -0,0 +1,118 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.MappedSegmentWriter;
+import com.demo.autenticacion.autenticacionJWT.helpers.MpscRingBuffer;
+import com.demo.autenticacion.autenticacionJWT.models.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Authentication audit trail. record() only enqueues into a lock-free ring buffer and never blocks:
+// when the buffer is full the event is dropped and counted. A single daemon thread drains it into
+// memory-mapped NDJSON segments (read them with helpers.AuditLogReader).
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final String SEGMENT_PREFIX = "audit";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final Counter droppedEvents;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLog(MeterRegistry meterRegistry,
+                    @Value("${audit.enabled:true}") boolean enabled,
+                    @Value("${audit.directory:logs/audit}") Path directory,
+                    @Value("${audit.segment-size:16MB}") DataSize segmentSize,
+                    @Value("${audit.max-segments:20}") int maxSegments,
+                    @Value("${audit.buffer-capacity:8192}") int bufferCapacity) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.maxSegments = maxSegments;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.droppedEvents = Counter.builder("audit.events.dropped")
+                .description("Audit events discarded because the buffer was full or the writer failed")
+                .register(meterRegistry);
+    }
+
+    public void record(AuditEvent.Type type, String username, boolean success) {
+        if (enabled && !buffer.offer(new AuditEvent(System.currentTimeMillis(), type, username, success))) {
+            droppedEvents.increment();
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        MappedSegmentWriter writer = new MappedSegmentWriter(directory, SEGMENT_PREFIX, segmentSize, maxSegments);
+        running = true;
+        writerThread = new Thread(() -> drain(writer), "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread != null) {
+            running = false;
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void drain(MappedSegmentWriter writer) {
+        long lastFlush = System.nanoTime();
+        try (writer) {
+            while (true) {
+                // Read the flag before polling: once stop() is seen, everything offered before it is visible
+                boolean stopping = !running;
+                AuditEvent event = buffer.poll();
+                if (event != null) {
+                    write(writer, event);
+                } else if (stopping) {
+                    break;
+                } else {
+                    if (System.nanoTime() - lastFlush > FLUSH_INTERVAL_NANOS) {
+                        writer.flush();
+                        lastFlush = System.nanoTime();
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("Audit writer stopped", ex);
+        }
+    }
+
+    private void write(MappedSegmentWriter writer, AuditEvent event) {
+        try {
+            if (!writer.append(event.toNdjson())) {
+                droppedEvents.increment();
+            }
+        } catch (IOException ex) {
+            droppedEvents.increment();
+            log.warn("Could not append audit event {}", event.type(), ex);
+        }
+    }
+}
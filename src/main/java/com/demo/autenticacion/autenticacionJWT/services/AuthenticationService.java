@@ -4,6 +4,12 @@ import com.demo.autenticacion.autenticacionJWT.dtos.AuthenticationRequest;
 import com.demo.autenticacion.autenticacionJWT.dtos.AuthenticationResponse;
 import com.demo.autenticacion.autenticacionJWT.dtos.PasswordChangeRequest;
 import com.demo.autenticacion.autenticacionJWT.dtos.RegisterRequest;
+import com.demo.autenticacion.autenticacionJWT.exceptions.DuplicateUserException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidCredentialsException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidTokenException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.UserNotFoundException;
+import com.demo.autenticacion.autenticacionJWT.models.AuditEvent;
+import com.demo.autenticacion.autenticacionJWT.models.NotificationType;
 import com.demo.autenticacion.autenticacionJWT.models.Role;
 import com.demo.autenticacion.autenticacionJWT.models.Usuario;
 import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioRepository;
@@ -11,11 +17,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.Map;
 
 @Service
 public class AuthenticationService {
@@ -23,16 +31,33 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserExistenceIndex userExistenceIndex;
+    private final AuditLog auditLog;
+    private final EmailService emailService;
 
-    public AuthenticationService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager) {
+    public AuthenticationService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager, UserExistenceIndex userExistenceIndex, AuditLog auditLog, EmailService emailService) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.userExistenceIndex = userExistenceIndex;
+        this.auditLog = auditLog;
+        this.emailService = emailService;
     }
 
 
-    public AuthenticationResponse register(RegisterRequest registerRequest) {
+    // Returns the new user's id rather than tokens, so a replayed registration can be answered with
+    // fresh tokens instead of keeping the first ones around (see AuthenticationController)
+    public Long register(RegisterRequest registerRequest) {
+        // Reject duplicates before paying for the BCrypt hash and a doomed INSERT
+        if (userExistenceIndex.usernameTaken(registerRequest.getUsername())) {
+            auditLog.record(AuditEvent.Type.REGISTER, registerRequest.getUsername(), false);
+            throw new DuplicateUserException("username", "Username is already taken");
+        }
+        if (userExistenceIndex.emailTaken(registerRequest.getEmail())) {
+            auditLog.record(AuditEvent.Type.REGISTER, registerRequest.getUsername(), false);
+            throw new DuplicateUserException("email", "Email is already in use");
+        }
         var usuario = Usuario.builder()
                 .firstName(registerRequest.getFirstName())
                 .secondName(registerRequest.getSecondName())
@@ -44,8 +69,19 @@ public class AuthenticationService {
                 .role(Role.valueOf(registerRequest.getRole()))
                 .build();
         usuarioRepository.save(usuario);
-        var jwtToken = jwtService.generateToken(usuario);
-        var refreshToken = jwtService.generateRefresh(new HashMap<>(), usuario);
+        userExistenceIndex.record(usuario.getUsername(), usuario.getEmail());
+        auditLog.record(AuditEvent.Type.REGISTER, usuario.getUsername(), true);
+        emailService.sendAsync(NotificationType.WELCOME, usuario.getEmail(), Map.of(
+                "firstName", usuario.getFirstName(),
+                "username", usuario.getUsername()));
+        return usuario.getId();
+    }
+
+    // For a user whose credentials were already checked, e.g. the one just registered
+    public AuthenticationResponse issueTokens(Long userId) {
+        var user = usuarioRepository.findById(userId).orElseThrow(() -> UserNotFoundException.INSTANCE);
+        var jwtToken = jwtService.generateToken(user);
+        var refreshToken = jwtService.generateRefresh(new HashMap<>(), user);
         return AuthenticationResponse.builder()
                 .authenticationToken(jwtToken)
                 .refreshToken(refreshToken)
@@ -53,10 +89,16 @@ public class AuthenticationService {
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest authenticationRequest) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authenticationRequest.getUsername(), authenticationRequest.getPassword())
-        );
-        var user = usuarioRepository.findByUsername(authenticationRequest.getUsername()).orElseThrow(() -> new IllegalArgumentException("Invalid username or password"));
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(authenticationRequest.getUsername(), authenticationRequest.getPassword())
+            );
+        } catch (AuthenticationException ex) {
+            auditLog.record(AuditEvent.Type.LOGIN, authenticationRequest.getUsername(), false);
+            throw ex;
+        }
+        var user = usuarioRepository.findByUsername(authenticationRequest.getUsername()).orElseThrow(() -> InvalidCredentialsException.INVALID_LOGIN);
+        auditLog.record(AuditEvent.Type.LOGIN, user.getUsername(), true);
         var jwtToken = jwtService.generateToken(user);
         var refreshToken = jwtService.generateRefresh(new HashMap<>(), user);
         return AuthenticationResponse.builder()
@@ -67,7 +109,19 @@ public class AuthenticationService {
 
     public AuthenticationResponse refreshToken(String refreshToken) {
 
-        var user = usuarioRepository.findByUsername(jwtService.getUsernameFromToken(refreshToken)).orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        String username = null;
+        Usuario user;
+        try {
+            username = jwtService.getUsernameFromToken(refreshToken);
+            user = usuarioRepository.findByUsername(username).orElseThrow(() -> InvalidTokenException.UNKNOWN_SUBJECT);
+            if (!jwtService.isTokenValid(refreshToken, user)) {
+                throw InvalidTokenException.REVOKED;
+            }
+        } catch (AuthenticationException ex) {
+            auditLog.record(AuditEvent.Type.TOKEN_REFRESH, username, false);
+            throw ex;
+        }
+        auditLog.record(AuditEvent.Type.TOKEN_REFRESH, username, true);
         var jwtToken = jwtService.generateToken(user);
         var newRefreshToken = jwtService.generateRefresh(new HashMap<>(), user);
         return AuthenticationResponse.builder()
@@ -77,7 +131,13 @@ public class AuthenticationService {
     }
 
     public Boolean validateToken(String token) {
-        return jwtService.validateToken(token);
+        boolean valid = false;
+        try {
+            valid = jwtService.validateToken(token);
+            return valid;
+        } finally {
+            auditLog.record(AuditEvent.Type.TOKEN_VALIDATION, null, valid);
+        }
     }
 
 
@@ -0,0 +1,212 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.dtos.ClientTokenResponse;
+import com.demo.autenticacion.autenticacionJWT.dtos.ServiceClientResponse;
+import com.demo.autenticacion.autenticacionJWT.exceptions.ClientCredentialsException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidCredentialsException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.ResourceNotFoundException;
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import com.demo.autenticacion.autenticacionJWT.models.ServiceClient;
+import com.demo.autenticacion.autenticacionJWT.repositories.ServiceClientRepository;
+import com.demo.autenticacion.autenticacionJWT.services.ServiceClientRegistry.RegisteredClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Client-credentials grant for internal services. Registered clients are held in memory by
+// ServiceClientRegistry and their secrets are checked with one HMAC-SHA256 and a constant-time
+// compare, so issuing a token touches neither BCrypt nor the database. Tokens are reused per client
+// and scope until they get close to expiry or the client's secret changes.
+@Service
+public class ClientCredentialsService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SECRET_BYTES = 32;
+
+    private final ServiceClientRepository serviceClientRepository;
+    private final JwtService jwtService;
+    private final InvalidationBus invalidationBus;
+    private final ServiceClientRegistry serviceClientRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final SecretKeySpec pepper;
+    private final long tokenTtlMillis;
+    private final long renewBeforeMillis;
+    private final SecureRandom random = new SecureRandom();
+    // Compared against when the client id is unknown, so both failure paths cost the same
+    private final byte[] unknownClientHash = new byte[SECRET_BYTES];
+
+    // Keyed by "<clientId> <scope mask>"
+    private final Map<String, IssuedToken> issued = new ConcurrentHashMap<>();
+
+    public ClientCredentialsService(ServiceClientRepository serviceClientRepository, JwtService jwtService, InvalidationBus invalidationBus,
+                                    ServiceClientRegistry serviceClientRegistry, TransactionTemplate transactionTemplate,
+                                    @Value("${auth.clients.secret-pepper}") String pepper,
+                                    @Value("${auth.clients.token-ttl:PT15M}") Duration tokenTtl,
+                                    @Value("${auth.clients.renew-before:PT2M}") Duration renewBefore) {
+        this.serviceClientRepository = serviceClientRepository;
+        this.jwtService = jwtService;
+        this.invalidationBus = invalidationBus;
+        this.serviceClientRegistry = serviceClientRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.pepper = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.tokenTtlMillis = tokenTtl.toMillis();
+        this.renewBeforeMillis = renewBefore.toMillis();
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    // scope: space-separated permission codes, or null/blank for everything the client is allowed
+    public ClientTokenResponse issue(String clientId, String clientSecret, String scope) {
+        RegisteredClient client = clientId == null ? null : serviceClientRegistry.get(clientId);
+        byte[] presented = hash(clientSecret == null ? "" : clientSecret);
+        boolean matches = MessageDigest.isEqual(presented, client == null ? unknownClientHash : client.secretHash());
+        if (client == null || !matches) {
+            throw InvalidCredentialsException.INVALID_CLIENT;
+        }
+        long scopeMask = requestedMask(scope, client.scopeMask());
+
+        String key = clientId + ' ' + scopeMask;
+        long now = System.currentTimeMillis();
+        IssuedToken token = issued.get(key);
+        if (!reusable(token, client, now)) {
+            // Concurrent callers for the same client share one signing
+            token = issued.compute(key, (k, current) -> reusable(current, client, now)
+                    ? current
+                    : mint(clientId, client.secretVersion(), scopeMask, now));
+        }
+        return token.toResponse(now);
+    }
+
+    public List<ServiceClient> findAll() {
+        return serviceClientRepository.findAll();
+    }
+
+    // Registers the client, or replaces the scopes and secret of an existing one. The returned
+    // secret is not stored anywhere and cannot be recovered later.
+    public ServiceClientResponse register(String clientId, Set<Permission> scopes) {
+        String secret = newSecret();
+        ServiceClient client = transactionTemplate.execute(status -> {
+            ServiceClient current = serviceClientRepository.findById(clientId)
+                    .orElseGet(() -> ServiceClient.builder().clientId(clientId).createdAt(LocalDateTime.now()).build());
+            EnumSet<Permission> granted = EnumSet.noneOf(Permission.class);
+            granted.addAll(scopes);
+            current.setScopes(granted);
+            current.setSecretHash(hash(secret));
+            return serviceClientRepository.save(current);
+        });
+        // Only once committed: from here this node accepts the new secret and rejects tokens issued
+        // under the old one; other nodes follow on CLIENT_CHANGED
+        serviceClientRegistry.cache(client);
+        clientChanged(clientId);
+        ServiceClientResponse response = ServiceClientResponse.of(client);
+        response.setClientSecret(secret);
+        return response;
+    }
+
+    public void remove(String clientId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!serviceClientRepository.existsById(clientId)) {
+                throw new ResourceNotFoundException("Service client not found: " + clientId);
+            }
+            serviceClientRepository.deleteById(clientId);
+        });
+        serviceClientRegistry.evict(clientId);
+        clientChanged(clientId);
+    }
+
+    private void clientChanged(String clientId) {
+        issued.keySet().removeIf(key -> key.startsWith(clientId + ' '));
+        invalidationBus.publish(InvalidationEvent.Type.CLIENT_CHANGED, clientId);
+    }
+
+    // ServiceClientRegistry reloads the client itself; tokens cached under its old secret are dropped
+    // here, and reusable() skips any minted from the old record while the reload was in flight
+    private void onInvalidation(InvalidationEvent event) {
+        if (event.type() == InvalidationEvent.Type.CLIENT_CHANGED) {
+            String clientId = event.key();
+            issued.keySet().removeIf(key -> key.startsWith(clientId + ' '));
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        issued.values().removeIf(token -> token.expiresAt() <= now);
+    }
+
+    private boolean reusable(IssuedToken token, RegisteredClient client, long now) {
+        return token != null && token.secretVersion().equals(client.secretVersion())
+                && token.expiresAt() - now > renewBeforeMillis;
+    }
+
+    private static long requestedMask(String scope, long allowed) {
+        if (scope == null || scope.isBlank()) {
+            return allowed;
+        }
+        long mask = 0;
+        for (String code : scope.trim().split(" +")) {
+            Permission permission = Permission.ofCode(code);
+            if (permission == null || (allowed & permission.bit()) == 0) {
+                throw new ClientCredentialsException(ClientCredentialsException.INVALID_SCOPE);
+            }
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+
+    private IssuedToken mint(String clientId, String secretVersion, long scopeMask, long now) {
+        StringJoiner scope = new StringJoiner(" ");
+        for (Permission permission : Permission.values()) {
+            if ((scopeMask & permission.bit()) != 0) {
+                scope.add(permission.code());
+            }
+        }
+        long expiresAt = now + tokenTtlMillis;
+        String token = jwtService.generateClientToken(clientId, secretVersion, scope.toString(), now, expiresAt);
+        return new IssuedToken(token, scope.toString(), secretVersion, expiresAt);
+    }
+
+    private byte[] hash(String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(pepper);
+            return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    private String newSecret() {
+        byte[] bytes = new byte[SECRET_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record IssuedToken(String token, String scope, String secretVersion, long expiresAt) {
+        ClientTokenResponse toResponse(long now) {
+            return ClientTokenResponse.builder()
+                    .accessToken(token)
+                    .tokenType("Bearer")
+                    .expiresIn((expiresAt - now) / 1000)
+                    .scope(scope)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Dependency checks for the actuator health groups. The database and SMTP probes each run on their own
+// thread and schedule and only publish their last result, so a health request reads a volatile field
+// and never waits on MySQL or SMTP; the mail queue check is a counter read and is done inline. When a
+// probe's next run is overdue by more than stale-after (it is hung, e.g. waiting for a connection), it
+// is reported as OUT_OF_SERVICE instead of repeating the last good answer.
+@Component
+public class DependencyProbes {
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyProbes.class);
+
+    private final DataSource dataSource;
+    private final EmailService emailService;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final long intervalMillis;
+    private final long smtpIntervalMillis;
+    private final long staleAfterMillis;
+    private final boolean smtpEnabled;
+    private final int validationTimeoutSeconds;
+    private final int mailQueueHighWater;
+
+    private volatile Probe database;
+    private volatile Probe smtp;
+    private ScheduledExecutorService databaseExecutor;
+    private ScheduledExecutorService smtpExecutor;
+
+    public DependencyProbes(DataSource dataSource, EmailService emailService, ObjectProvider<JavaMailSender> mailSender,
+                            @Value("${health.probes.interval:PT5S}") Duration interval,
+                            @Value("${health.probes.smtp-interval:PT1M}") Duration smtpInterval,
+                            @Value("${health.probes.stale-after:PT30S}") Duration staleAfter,
+                            @Value("${health.probes.smtp-enabled:true}") boolean smtpEnabled,
+                            @Value("${health.probes.validation-timeout:PT2S}") Duration validationTimeout,
+                            @Value("${health.probes.mail-queue-high-water:0.8}") double mailQueueHighWater) {
+        this.dataSource = dataSource;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.intervalMillis = interval.toMillis();
+        this.smtpIntervalMillis = smtpInterval.toMillis();
+        this.staleAfterMillis = staleAfter.toMillis();
+        this.smtpEnabled = smtpEnabled;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        this.mailQueueHighWater = (int) Math.ceil(emailService.getQueueCapacity() * mailQueueHighWater);
+    }
+
+    @PostConstruct
+    public void start() {
+        long now = System.currentTimeMillis();
+        Health pending = Health.unknown().withDetail("reason", "not probed yet").build();
+        database = new Probe(pending, now, now + intervalMillis + staleAfterMillis);
+        smtp = new Probe(pending, now, now + smtpIntervalMillis + staleAfterMillis);
+        // Separate threads: a hung SMTP handshake must not delay the database probe, and neither
+        // may hold up the shared @Scheduled thread the outbox poller runs on
+        databaseExecutor = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "health-probe-db"));
+        databaseExecutor.scheduleWithFixedDelay(() -> database = run(this::probeDatabase, intervalMillis),
+                0, intervalMillis, TimeUnit.MILLISECONDS);
+        if (smtpEnabled) {
+            smtpExecutor = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "health-probe-smtp"));
+            smtpExecutor.scheduleWithFixedDelay(() -> smtp = run(this::probeSmtp, smtpIntervalMillis),
+                    0, smtpIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            smtp = new Probe(Health.up().withDetail("check", "disabled").build(), now, Long.MAX_VALUE);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        databaseExecutor.shutdownNow();
+        if (smtpExecutor != null) {
+            smtpExecutor.shutdownNow();
+        }
+    }
+
+    public Health database() {
+        return current(database);
+    }
+
+    // Computed on read: it is a single queue size check, and keeping it off any probe thread means a
+    // hung SMTP handshake can never make this readiness-critical result stale
+    public Health mailQueue() {
+        return probeMailQueue();
+    }
+
+    public Health smtp() {
+        return current(smtp);
+    }
+
+    private Health current(Probe probe) {
+        if (System.currentTimeMillis() > probe.staleAt()) {
+            return Health.outOfService()
+                    .withDetail("reason", "probe stalled")
+                    .withDetail("lastStatus", probe.health().getStatus().getCode())
+                    .withDetail("checkedAt", Instant.ofEpochMilli(probe.checkedAt()).toString())
+                    .build();
+        }
+        return probe.health();
+    }
+
+    // The pool gauges are read first: when it is exhausted, asking it for a connection would just block
+    private Health probeDatabase() throws SQLException {
+        HikariPoolMXBean pool = dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                : null;
+        Health.Builder builder;
+        if (pool != null && pool.getIdleConnections() == 0 && pool.getThreadsAwaitingConnection() > 0) {
+            builder = Health.outOfService().withDetail("reason", "connection pool exhausted");
+        } else {
+            try (Connection connection = dataSource.getConnection()) {
+                builder = connection.isValid(validationTimeoutSeconds) ? Health.up() : Health.down().withDetail("reason", "validation failed");
+            }
+        }
+        if (pool != null) {
+            builder.withDetail("active", pool.getActiveConnections())
+                    .withDetail("idle", pool.getIdleConnections())
+                    .withDetail("awaiting", pool.getThreadsAwaitingConnection());
+        }
+        return builder.build();
+    }
+
+    private Health probeMailQueue() {
+        int depth = emailService.getQueueDepth();
+        Health.Builder builder = depth >= mailQueueHighWater
+                ? Health.outOfService().withDetail("reason", "mail queue backed up")
+                : Health.up();
+        return builder.withDetail("depth", depth)
+                .withDetail("highWater", mailQueueHighWater)
+                .build();
+    }
+
+    private Health probeSmtp() throws Exception {
+        if (!(mailSender.getIfAvailable() instanceof JavaMailSenderImpl sender)) {
+            return Health.unknown().withDetail("reason", "no SMTP sender").build();
+        }
+        sender.testConnection();
+        return Health.up().withDetail("host", String.valueOf(sender.getHost())).build();
+    }
+
+    private Probe run(Check check, long probeIntervalMillis) {
+        Health health;
+        try {
+            health = check.run();
+        } catch (Exception ex) {
+            log.debug("Health probe failed", ex);
+            health = Health.down(ex).build();
+        }
+        long now = System.currentTimeMillis();
+        return new Probe(health, now, now + probeIntervalMillis + staleAfterMillis);
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private interface Check {
+        Health run() throws Exception;
+    }
+
+    // Stale once the next run is overdue by more than stale-after
+    private record Probe(Health health, long checkedAt, long staleAt) {
+    }
+}
@@ -1,42 +1,108 @@
 package com.demo.autenticacion.autenticacionJWT.services;
 
+import com.demo.autenticacion.autenticacionJWT.models.NotificationType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
     private final JavaMailSender mailSender;
-    private final String FROM_EMAIL = "virtual.assistant.idea@gmail.com";
+    private final MailTemplates mailTemplates;
+    private final String from;
+    private final Set<NotificationType> enabled = EnumSet.noneOf(NotificationType.class);
+    // Informational notifications go through this bounded queue so SMTP latency never reaches the request
+    private final ThreadPoolExecutor dispatcher;
+    private final int queueCapacity;
 
-    public EmailService(JavaMailSender mailSender) {
+    // Lazy proxy: the mail subsystem is only built when the first message goes out
+    public EmailService(@Lazy JavaMailSender mailSender, MailTemplates mailTemplates,
+                        @Value("${mail.from:${spring.mail.username:}}") String from,
+                        @Value("${mail.notifications:PASSWORD_RESET,WELCOME,PASSWORD_CHANGED,LOCKOUT}") String[] notifications,
+                        @Value("${mail.dispatch.queue-capacity:1000}") int queueCapacity) {
         this.mailSender = mailSender;
+        this.mailTemplates = mailTemplates;
+        this.from = from;
+        for (String notification : notifications) {
+            if (!notification.isBlank()) {
+                enabled.add(NotificationType.valueOf(notification.trim()));
+            }
+        }
+        this.queueCapacity = queueCapacity;
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "mail-dispatch");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> log.warn("Mail dispatch queue is full, dropping notification"));
+    }
+
+    // Sends on the caller's thread, in the language of the current request
+    public void send(NotificationType type, String to, Map<String, String> values) throws MessagingException {
+        send(type, to, LocaleContextHolder.getLocale(), values);
     }
 
-    public void sendPasswordResetEmail(String to, String subject, String resetLink) throws MessagingException {
+    // Queues the message and returns immediately; failures are logged, not reported to the caller
+    public void sendAsync(NotificationType type, String to, Map<String, String> values) {
+        if (!enabled.contains(type)) {
+            return;
+        }
+        Locale locale = LocaleContextHolder.getLocale(); // thread-bound, so capture it here
+        dispatcher.execute(() -> {
+            try {
+                send(type, to, locale, values);
+            } catch (Exception ex) {
+                log.warn("Could not send {} notification", type, ex);
+            }
+        });
+    }
+
+    public int getQueueDepth() {
+        return dispatcher.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    private void send(NotificationType type, String to, Locale locale, Map<String, String> values) throws MessagingException {
+        if (!enabled.contains(type)) {
+            return;
+        }
+        MailTemplates.Rendered mail = mailTemplates.render(type, locale, values);
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        System.out.println(resetLink);
-        String htmlContent = """
-            <html>
-                <body>
-                    <h2>Password Reset Request</h2>
-                    <p>Click the link below to reset your password:</p>
-                    <a href="%s">Reset Password</a>
-                    <p>If you didn't request this, please ignore this email.</p>
-                    <p>This link will expire in 24 hours.</p>
-                </body>
-            </html>
-            """.formatted(resetLink);
-
-        helper.setFrom(FROM_EMAIL);
+
+        helper.setFrom(from);
         helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true); // true = isHTML
+        helper.setSubject(mail.subject());
+        helper.setText(mail.text(), mail.html()); // multipart/alternative: plain text + HTML
 
         mailSender.send(message);
     }
-}
\ No newline at end of file
+}
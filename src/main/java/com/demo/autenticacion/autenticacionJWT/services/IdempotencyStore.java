@@ -0,0 +1,147 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.exceptions.IdempotencyKeyException;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Results of requests sent with an Idempotency-Key, kept for a TTL so client retries replay the first
+// outcome instead of repeating the work. Concurrent requests with the same key wait on the first one.
+// Failures are not remembered, so a retry after an error runs again. Bounded: when full, requests
+// simply run without being recorded until the scheduled purge frees room. Results stay in memory
+// for the whole TTL, so callers store what identifies the outcome (an id, a flag), never credentials.
+@Component
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // Every declared field, ignoring annotations: the fingerprint must not depend on how a DTO chooses
+    // to print or serialize itself (a @ToString.Exclude or WRITE_ONLY password would drop it)
+    private static final ObjectMapper CANONICAL = JsonMapper.builder()
+            .disable(MapperFeature.USE_ANNOTATIONS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .build();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Per-process key: payloads carry plaintext passwords, and a plain SHA-256 of one kept for the
+    // TTL would be open to a dictionary lookup from a heap dump
+    private final SecretKeySpec fingerprintKey;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public IdempotencyStore(@Value("${auth.idempotency.ttl:PT10M}") Duration ttl,
+                            @Value("${auth.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.fingerprintKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @FunctionalInterface
+    public interface Work<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    // scope keeps the same key on different endpoints apart and caller (the client address on these
+    // anonymous endpoints) keeps different clients' keys apart; request identifies the payload, so a
+    // key reused with a different body is rejected instead of replaying an unrelated response
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(String scope, String caller, String key, Object request, Work<T, E> work) throws E {
+        if (key == null || key.isBlank()) {
+            return work.run();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException(IdempotencyKeyException.TOO_LONG);
+        }
+        long now = System.currentTimeMillis();
+        String storeKey = scope + ' ' + caller + ' ' + key;
+        String fingerprint = fingerprint(request);
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), now + ttlMillis);
+
+        Entry existing = entries.putIfAbsent(storeKey, entry);
+        if (existing != null && existing.expiresAt() <= now) {
+            entries.remove(storeKey, existing);
+            existing = entries.putIfAbsent(storeKey, entry);
+        }
+        if (existing == null) {
+            // Over the bound the entry still serves requests racing with this one, but isn't kept;
+            // rescanning the map here would cost O(n) on every new key while it stays full
+            boolean keep = entries.size() <= maxEntries;
+            try {
+                T result = work.run();
+                entry.result().complete(result);
+                if (!keep) {
+                    entries.remove(storeKey, entry);
+                }
+                return result;
+            } catch (RuntimeException | Error ex) {
+                abandon(storeKey, entry, ex);
+                throw ex;
+            } catch (Exception ex) {
+                abandon(storeKey, entry, ex);
+                throw (E) ex; // work.run() only declares E
+            }
+        }
+
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyException(IdempotencyKeyException.REUSED);
+        }
+        try {
+            return (T) existing.result().join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (E) cause;
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purge() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now && entry.result().isDone());
+    }
+
+    // Waiters get the same failure; the key is freed so the client's next retry runs again
+    private void abandon(String storeKey, Entry entry, Throwable failure) {
+        entries.remove(storeKey, entry);
+        entry.result().completeExceptionally(failure);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(fingerprintKey);
+            return HexFormat.of().formatHex(mac.doFinal(CANONICAL.writeValueAsBytes(request)));
+        } catch (GeneralSecurityException | JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot fingerprint " + request.getClass().getSimpleName(), ex);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result, long expiresAt) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Single-JVM stand-in for tests and single-replica deployments: events never leave the process.
+@Component
+@ConditionalOnProperty(name = "auth.invalidation.bus", havingValue = "in-memory")
+public class InMemoryInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationEvent.Type type, String key) {
+        InvalidationEvent event = new InvalidationEvent(type, key, System.currentTimeMillis());
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+
+import java.util.function.Consumer;
+
+// Broadcasts invalidation events to every node's in-process caches. Publishing applies the event
+// locally right away; other nodes see it after the implementation's propagation delay.
+public interface InvalidationBus {
+
+    void publish(InvalidationEvent.Type type, String key);
+
+    void subscribe(Consumer<InvalidationEvent> listener);
+}
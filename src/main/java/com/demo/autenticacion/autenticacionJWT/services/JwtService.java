@@ -1,6 +1,16 @@
 package com.demo.autenticacion.autenticacionJWT.services;
 
+import com.demo.autenticacion.autenticacionJWT.exceptions.ExpiredTokenException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidTokenException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.UserNotFoundException;
+import com.demo.autenticacion.autenticacionJWT.models.Role;
+import com.demo.autenticacion.autenticacionJWT.models.ServiceClientPrincipal;
+import com.demo.autenticacion.autenticacionJWT.models.Usuario;
+import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -8,28 +18,64 @@ import io.jsonwebtoken.lang.Objects;
 import io.jsonwebtoken.security.Keys;
 import io.micrometer.common.util.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    private final UserDetailsService userDetailsService;
+    // Compact access tokens: "sub" is the numeric user id and "r" the Role bitmask; its presence marks the format
+    private static final String ROLE_MASK_CLAIM = "r";
+    // Client-credentials tokens: "sub" is client:<id> and "scope" the granted permission codes; its presence marks the kind
+    private static final String SCOPE_CLAIM = "scope";
+    // Client tokens only: the secret they were issued under, see ServiceClientRegistry
+    private static final String SECRET_VERSION_CLAIM = "sv";
+    // Issue time in milliseconds on every token: "iat" only holds whole seconds, too coarse to tell a token
+    // minted right after a revocation from one minted just before it
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
-    public JwtService(UserDetailsService userDetailsService) {
+    private final UserDetailsService userDetailsService;
+    private final TokenPrefilter tokenPrefilter;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UsuarioRepository usuarioRepository;
+    private final UserCache userCache;
+    private final ServiceClientRegistry serviceClientRegistry;
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+    private final boolean compactClaims;
+    private final long accessTokenTtlMillis;
+    private final long refreshTokenTtlMillis;
+
+    public JwtService(UserDetailsService userDetailsService, TokenPrefilter tokenPrefilter, TokenRevocationRegistry tokenRevocationRegistry,
+                      UsuarioRepository usuarioRepository, UserCache userCache, ServiceClientRegistry serviceClientRegistry,
+                      @Value("${jwt.secretKey}") String secretKey,
+                      @Value("${jwt.claims-format:legacy}") String claimsFormat,
+                      @Value("${jwt.access-token-ttl:PT24H}") Duration accessTokenTtl,
+                      @Value("${jwt.refresh-token-ttl:P7D}") Duration refreshTokenTtl) {
         this.userDetailsService = userDetailsService;
+        this.tokenPrefilter = tokenPrefilter;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.usuarioRepository = usuarioRepository;
+        this.userCache = userCache;
+        this.serviceClientRegistry = serviceClientRegistry;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser().setSigningKey(signInKey).build();
+        this.compactClaims = "compact".equalsIgnoreCase(claimsFormat);
+        this.accessTokenTtlMillis = accessTokenTtl.toMillis();
+        this.refreshTokenTtlMillis = refreshTokenTtl.toMillis();
     }
 
-    @Value("${jwt.secretKey}")
-    private String secretKey;
-
     public String extractUserName(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -46,44 +92,117 @@ public class JwtService {
     public String generateToken(
             Map<String, Objects> extraClaims,
             UserDetails userDetails) {
+        final long now = System.currentTimeMillis();
+        if (compactClaims && userDetails instanceof Usuario usuario && usuario.getId() != null) {
+            return Jwts.builder()
+                    .setSubject(usuario.getId().toString())
+                    .claim(ROLE_MASK_CLAIM, Role.mask(usuario.getAuthorities()))
+                    .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                    .setIssuedAt(new Date(now))
+                    .setExpiration(new Date(now + accessTokenTtlMillis))
+                    .signWith(signInKey, SignatureAlgorithm.HS256)
+                    .compact();
+        }
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("roles", userDetails.getAuthorities())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // 1 day
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claim("roles", roleAuthorities(userDetails))
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenTtlMillis))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // The caller picks the timestamps so it knows exactly how long the token it caches stays usable
+    public String generateClientToken(String clientId, String secretVersion, String scope, long issuedAtMillis, long expiresAtMillis) {
+        return Jwts.builder()
+                .setSubject(ServiceClientPrincipal.subjectOf(clientId))
+                .claim(SCOPE_CLAIM, scope)
+                .claim(SECRET_VERSION_CLAIM, secretVersion)
+                .claim(ISSUED_AT_MILLIS_CLAIM, issuedAtMillis)
+                .setIssuedAt(new Date(issuedAtMillis))
+                .setExpiration(new Date(expiresAtMillis))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
+
+    // The legacy claim only ever carried the role; permissions are resolved server-side
+    private static Collection<? extends GrantedAuthority> roleAuthorities(UserDetails userDetails) {
+        return userDetails instanceof Usuario usuario ? List.of(usuario.getRole().authority()) : userDetails.getAuthorities();
+    }
+
+    // Accepts both formats while legacy tokens are still in circulation; client tokens need no lookup
+    public UserDetails loadUser(Claims claims) {
+        if (claims.containsKey(SCOPE_CLAIM)) {
+            return ServiceClientPrincipal.fromToken(claims.getSubject(), claims.get(SCOPE_CLAIM, String.class),
+                    claims.get(SECRET_VERSION_CLAIM, String.class));
+        }
+        if (!isCompact(claims)) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        final Long id = parseUserId(claims.getSubject());
+        return userCache.getById(id, key -> usuarioRepository.findById(key).orElseThrow(() -> UserNotFoundException.INSTANCE));
+    }
+
     public Boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // For callers that already hold the parsed claims (the request filter), so the token is verified once
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String subject = claims.getSubject();
+        final boolean subjectMatches = isCompact(claims)
+                ? userDetails instanceof Usuario usuario && subject.equals(String.valueOf(usuario.getId()))
+                : subject.equals(userDetails.getUsername());
+        return subjectMatches
+                && !claims.getExpiration().before(new Date())
+                && !tokenRevocationRegistry.isRevoked(userDetails, issuedAtMillis(claims))
+                && (!(userDetails instanceof ServiceClientPrincipal client)
+                        || serviceClientRegistry.isCurrent(client.getClientId(), client.getSecretVersion()));
     }
 
-    private Date extractExpiration(String token) {
+    // Tokens minted before the millisecond claim existed fall back to iat, truncated to the second
+    private static long issuedAtMillis(Claims claims) {
+        final Long millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (millis != null) {
+            return millis;
+        }
+        final Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null ? Long.MIN_VALUE : issuedAt.getTime();
+    }
 
-        return extractClaim(token, Claims::getExpiration);
+    private static boolean isCompact(Claims claims) {
+        return claims.containsKey(ROLE_MASK_CLAIM);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody();
+    private static Long parseUserId(String subject) {
+        try {
+            return Long.valueOf(subject);
+        } catch (NumberFormatException ex) {
+            throw InvalidTokenException.INVALID;
+        }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Claims extractAllClaims(String token) {
+        tokenPrefilter.check(token);
+        try {
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException ex) {
+            throw ExpiredTokenException.ACCESS_TOKEN;
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw InvalidTokenException.INVALID;
+        }
     }
 
     public String generateRefresh(Map<String, Objects> extraClaims, UserDetails userDetails) {
+        final long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 604800000))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + refreshTokenTtlMillis))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
 
     }
@@ -93,10 +212,9 @@ public class JwtService {
     }
 
     public Boolean validateToken(String token) {
-        String userName = extractUserName(token);
-        if (StringUtils.isNotEmpty(userName) && !isTokenExpired(token)) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
-            return isTokenValid(token, userDetails);
+        final Claims claims = extractAllClaims(token);
+        if (StringUtils.isNotEmpty(claims.getSubject()) && !claims.getExpiration().before(new Date())) {
+            return isTokenValid(claims, loadUser(claims));
         }
         return false;
     }
@@ -0,0 +1,101 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.MailTemplate;
+import com.demo.autenticacion.autenticacionJWT.models.NotificationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Every notification template, parsed once at startup. A template file has three sections:
+//   --- subject
+//   --- text
+//   --- html
+// Localized variants sit next to the default as <name>_<lang>.mail; unknown languages get the default.
+@Component
+public class MailTemplates {
+
+    private static final String LOCATION = "templates/mail/";
+    private static final String DEFAULT = "";
+    private static final int RETAINED_BUFFER_CHARS = 16 * 1024;
+
+    private final Map<NotificationType, Map<String, Variant>> variants = new EnumMap<>(NotificationType.class);
+    // Render buffers are reused per thread; oversized ones are dropped rather than kept around
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    public MailTemplates(@Value("${mail.locales:es}") String[] languages) throws IOException {
+        for (NotificationType type : NotificationType.values()) {
+            Map<String, Variant> byLanguage = new HashMap<>();
+            ClassPathResource base = new ClassPathResource(LOCATION + type.template() + ".mail");
+            if (!base.exists()) {
+                throw new IllegalStateException("Missing mail template " + base.getPath());
+            }
+            byLanguage.put(DEFAULT, load(base));
+            for (String language : languages) {
+                ClassPathResource localized = new ClassPathResource(LOCATION + type.template() + "_" + language.trim() + ".mail");
+                if (localized.exists()) {
+                    byLanguage.put(language.trim(), load(localized));
+                }
+            }
+            variants.put(type, byLanguage);
+        }
+    }
+
+    public Rendered render(NotificationType type, Locale locale, Map<String, String> values) {
+        Map<String, Variant> byLanguage = variants.get(type);
+        Variant variant = byLanguage.getOrDefault(locale.getLanguage(), byLanguage.get(DEFAULT));
+        return new Rendered(
+                render(variant.subject(), values),
+                render(variant.text(), values),
+                render(variant.html(), values));
+    }
+
+    private String render(MailTemplate template, Map<String, String> values) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, values);
+        String result = buffer.toString();
+        if (buffer.capacity() > RETAINED_BUFFER_CHARS) {
+            buffers.remove();
+        }
+        return result;
+    }
+
+    private static Variant load(ClassPathResource resource) throws IOException {
+        String source;
+        try (InputStream in = resource.getInputStream()) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Map<String, StringBuilder> sections = new HashMap<>();
+        StringBuilder current = null;
+        for (String line : source.split("\r?\n", -1)) {
+            if (line.startsWith("--- ")) {
+                current = sections.computeIfAbsent(line.substring(4).trim(), key -> new StringBuilder());
+            } else if (current != null) {
+                current.append(line).append('\n');
+            }
+        }
+        for (String section : new String[]{"subject", "text", "html"}) {
+            if (!sections.containsKey(section)) {
+                throw new IllegalStateException("Mail template " + resource.getPath() + " has no '--- " + section + "' section");
+            }
+        }
+        return new Variant(
+                MailTemplate.parse(sections.get("subject").toString().strip(), false),
+                MailTemplate.parse(sections.get("text").toString().strip() + "\n", false),
+                MailTemplate.parse(sections.get("html").toString().strip() + "\n", true));
+    }
+
+    public record Rendered(String subject, String text, String html) {
+    }
+
+    private record Variant(MailTemplate subject, MailTemplate text, MailTemplate html) {
+    }
+}
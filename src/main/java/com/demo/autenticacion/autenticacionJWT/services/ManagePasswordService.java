@@ -1,86 +1,155 @@
 package com.demo.autenticacion.autenticacionJWT.services;
 
 import com.demo.autenticacion.autenticacionJWT.dtos.PasswordChangeRequest;
+import com.demo.autenticacion.autenticacionJWT.exceptions.ExpiredTokenException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidCredentialsException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidTokenException;
+import com.demo.autenticacion.autenticacionJWT.models.AuditEvent;
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.NotificationType;
 import com.demo.autenticacion.autenticacionJWT.models.PasswordResetToken;
 import com.demo.autenticacion.autenticacionJWT.models.Usuario;
 import com.demo.autenticacion.autenticacionJWT.repositories.PasswordResetTokenRepository;
+import com.demo.autenticacion.autenticacionJWT.repositories.ResetTokenOwner;
 import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioRepository;
 import jakarta.mail.MessagingException;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class ManagePasswordService {
 
+    private static final Logger log = LoggerFactory.getLogger(ManagePasswordService.class);
+
     private final UsuarioRepository usuarioRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
-
-    public ManagePasswordService(UsuarioRepository usuarioRepository, PasswordResetTokenRepository passwordResetTokenRepository, EmailService emailService, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLog auditLog;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final Duration resetTokenTtl;
+
+    public ManagePasswordService(UsuarioRepository usuarioRepository, PasswordResetTokenRepository passwordResetTokenRepository, EmailService emailService, PasswordEncoder passwordEncoder, InvalidationBus invalidationBus, TransactionTemplate transactionTemplate, AuditLog auditLog,
+                                 TokenRevocationRegistry tokenRevocationRegistry,
+                                 @Value("${auth.reset-token.ttl:PT24H}") Duration resetTokenTtl) {
         this.usuarioRepository = usuarioRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.emailService = emailService;
         this.passwordEncoder = passwordEncoder;
-        this.jwtService = jwtService;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = transactionTemplate;
+        this.auditLog = auditLog;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.resetTokenTtl = resetTokenTtl;
     }
 
 
-    public void changePassword(String jwt, PasswordChangeRequest request){
-        String username = jwtService.extractUserName(jwt);
-
-        Usuario user = usuarioRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+    // user is the principal JwtAuthenticationFilter already loaded for this request; it may be
+    // shared with UserCache, so it is only read here and the new hash goes straight to the DB.
+    public void changePassword(Usuario user, PasswordChangeRequest request){
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
-            throw new BadCredentialsException("Current password is incorrect");
+            auditLog.record(AuditEvent.Type.PASSWORD_CHANGE, user.getUsername(), false);
+            throw InvalidCredentialsException.WRONG_CURRENT_PASSWORD;
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        usuarioRepository.save(user);
+        usuarioRepository.updatePassword(user.getId(), passwordEncoder.encode(request.getNewPassword()));
+        credentialsChanged(user.getUsername());
+        auditLog.record(AuditEvent.Type.PASSWORD_CHANGE, user.getUsername(), true);
+        notifyPasswordChanged(user.getEmail(), user.getFirstName(), user.getUsername());
     }
 
     public void initiatePasswordRecovery(String email) throws MessagingException {
         Usuario user = usuarioRepository.findByEmail(email)
                 .orElse(null); // Don't reveal if user exists
 
+        auditLog.record(AuditEvent.Type.PASSWORD_RESET_REQUEST, user == null ? null : user.getUsername(), user != null);
         if (user != null) {
             String token = UUID.randomUUID().toString();
             PasswordResetToken resetToken = PasswordResetToken.builder()
                     .token(token)
                     .user(user)
-                    .expiryDateToken(LocalDateTime.now().plusHours(1000))
+                    .expiryDateToken(LocalDateTime.now().plus(resetTokenTtl))
                     .build();
 
-            passwordResetTokenRepository.save(resetToken);
+            // usuario_id is unique: a new request replaces any token still outstanding. Two requests for
+            // the same user racing here collide on that key (or deadlock on its gap lock); the winner's
+            // token is stored and its email sent, so the loser has nothing left to do.
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    passwordResetTokenRepository.deleteByUserId(user.getId());
+                    passwordResetTokenRepository.save(resetToken);
+                });
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException ex) {
+                log.debug("Concurrent password recovery for user {} already served", user.getId());
+                return;
+            }
 
             // Send email
-            emailService.sendPasswordResetEmail(
-                    user.getEmail(),
-                    "Password Reset",
-                    "https://api/v1/auth/reset-password?token=" + token
-            );
+            emailService.send(NotificationType.PASSWORD_RESET, user.getEmail(), Map.of(
+                    "resetLink", "https://api/v1/auth/reset-password?token=" + token,
+                    "expiresInHours", String.valueOf(resetTokenTtl.toHours())));
         }
     }
 
     public void resetPassword(String token, String newPassword) {
-        PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid token"));
+        ResetTokenOwner owner = passwordResetTokenRepository.findOwnerByToken(token).orElse(null);
+        if (owner == null) {
+            auditLog.record(AuditEvent.Type.PASSWORD_RESET, null, false);
+            throw InvalidTokenException.UNKNOWN_RESET_TOKEN;
+        }
 
-        if (resetToken.getExpiryDateToken().isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("Token expired");
+        if (owner.getExpiryDateToken().isBefore(LocalDateTime.now())) {
+            auditLog.record(AuditEvent.Type.PASSWORD_RESET, owner.getUsername(), false);
+            throw ExpiredTokenException.RESET_TOKEN;
         }
 
-        Usuario user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
-        usuarioRepository.save(user);
+        // Hash outside the transaction so no row lock or pooled connection is held during BCrypt
+        String encodedPassword = passwordEncoder.encode(newPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Consume the token first: a concurrent redemption that lost the race sees 0 and aborts
+            if (passwordResetTokenRepository.deleteIfValid(token, LocalDateTime.now()) == 0) {
+                auditLog.record(AuditEvent.Type.PASSWORD_RESET, owner.getUsername(), false);
+                throw InvalidTokenException.UNKNOWN_RESET_TOKEN;
+            }
+            usuarioRepository.updatePassword(owner.getUserId(), encodedPassword);
+        });
+        credentialsChanged(owner.getUsername());
+        auditLog.record(AuditEvent.Type.PASSWORD_RESET, owner.getUsername(), true);
+        notifyPasswordChanged(owner.getEmail(), owner.getFirstName(), owner.getUsername());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.reset-token.cleanup-interval:3600000}")
+    public void purgeExpiredTokens() {
+        passwordResetTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private void notifyPasswordChanged(String email, String firstName, String username) {
+        emailService.sendAsync(NotificationType.PASSWORD_CHANGED, email, Map.of(
+                "firstName", firstName,
+                "username", username,
+                "changedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).toString()));
+    }
 
-        // Invalidate token
-        passwordResetTokenRepository.delete(resetToken);
+    // Drop cached copies of the user and every token issued with the old password, cluster-wide.
+    // The token cut-off is persisted, so it outlives the bus event on nodes that start later.
+    private void credentialsChanged(String username) {
+        invalidationBus.publish(InvalidationEvent.Type.USER_CHANGED, username);
+        tokenRevocationRegistry.revokeCredentials(username);
     }
 }
@@ -0,0 +1,138 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationOutboxEntry;
+import com.demo.autenticacion.autenticacionJWT.repositories.InvalidationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Default bus: events are appended to the auth_invalidation_events table and every node polls it by id.
+// Ids are handed out at insert, not at commit, so an id the cursor skipped over may still show up when
+// a slow transaction commits; such gaps are re-read on every poll until they appear or time out.
+// Listeners are idempotent, so seeing an event twice is harmless.
+@Component
+@ConditionalOnProperty(name = "auth.invalidation.bus", havingValue = "outbox", matchIfMissing = true)
+public class OutboxInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxInvalidationBus.class);
+    private static final int BATCH_SIZE = 500;
+    private static final long CLEANUP_INTERVAL_MILLIS = 60_000;
+    // A larger jump is an auto-increment reservation, not transactions still in flight
+    private static final int MAX_TRACKED_GAP = 1_000;
+
+    private final InvalidationOutboxRepository outboxRepository;
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final String nodeId;
+    private final long gapTimeoutMillis;
+    private final long retentionMillis;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter appliedEvents;
+
+    // Only touched by the scheduler thread
+    private long lastSeenId;
+    // Skipped id -> when it was first noticed missing
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long lastCleanup;
+
+    public OutboxInvalidationBus(InvalidationOutboxRepository outboxRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.invalidation.node-id:}") String nodeId,
+                                 @Value("${auth.invalidation.gap-timeout:PT5M}") Duration gapTimeout,
+                                 @Value("${auth.invalidation.retention:PT1H}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.retentionMillis = retention.toMillis();
+        // Earlier events need no replay: caches start empty and token cut-offs are loaded from session_epochs
+        this.lastSeenId = outboxRepository.findMaxId();
+        Gauge.builder("auth.invalidation.lag", lagMillis, AtomicLong::get)
+                .description("Delay between an invalidation event being published and this node applying it")
+                .baseUnit("milliseconds")
+                .tag("node", this.nodeId)
+                .register(meterRegistry);
+        this.appliedEvents = Counter.builder("auth.invalidation.events")
+                .description("Invalidation events received from the outbox")
+                .tag("node", this.nodeId)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(InvalidationEvent.Type type, String key) {
+        long now = System.currentTimeMillis();
+        dispatch(new InvalidationEvent(type, key, now));
+        outboxRepository.save(InvalidationOutboxEntry.builder()
+                .type(type)
+                .key(key)
+                .origin(nodeId)
+                .createdAt(now)
+                .build());
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.invalidation.poll-interval:1000}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        if (!gaps.isEmpty()) {
+            for (InvalidationOutboxEntry entry : outboxRepository.findAllById(gaps.keySet())) {
+                gaps.remove(entry.getId());
+                apply(entry, now);
+            }
+            // Rolled back, or committed so late that the cache TTLs have already covered it
+            gaps.values().removeIf(noticedAt -> now - noticedAt > gapTimeoutMillis);
+        }
+        // A full batch leaves the rest of the backlog for the next poll
+        for (InvalidationOutboxEntry entry : outboxRepository.findAfter(lastSeenId, PageRequest.of(0, BATCH_SIZE))) {
+            long skipped = entry.getId() - lastSeenId - 1;
+            if (skipped > 0 && skipped <= MAX_TRACKED_GAP) {
+                for (long id = lastSeenId + 1; id < entry.getId(); id++) {
+                    gaps.put(id, now);
+                }
+            }
+            lastSeenId = entry.getId();
+            apply(entry, now);
+        }
+
+        if (now - lastCleanup > CLEANUP_INTERVAL_MILLIS) {
+            int removed = outboxRepository.deleteOlderThan(now - retentionMillis);
+            if (removed > 0) {
+                log.debug("Removed {} expired invalidation events", removed);
+            }
+            lastCleanup = now;
+        }
+    }
+
+    private void apply(InvalidationOutboxEntry entry, long now) {
+        if (!nodeId.equals(entry.getOrigin())) {
+            dispatch(entry.toEvent());
+        }
+        lagMillis.set(Math.max(0, now - entry.getCreatedAt()));
+        appliedEvents.increment();
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+}
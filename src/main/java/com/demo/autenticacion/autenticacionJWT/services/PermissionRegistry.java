@@ -0,0 +1,84 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.exceptions.RolePermissionsException;
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import com.demo.autenticacion.autenticacionJWT.models.Role;
+import com.demo.autenticacion.autenticacionJWT.models.RoleDefinition;
+import com.demo.autenticacion.autenticacionJWT.repositories.RoleDefinitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Publishes the role -> permission sets stored in roles/role_permissions into Role, where
+// Usuario.getAuthorities() and RouteAuthorization read them without allocating or querying.
+// Loaded at startup and reloaded per role on ROLE_CHANGED; roles missing from the tables keep
+// the defaults declared in Role.
+@Component
+public class PermissionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionRegistry.class);
+    private static final Set<Permission> ADMIN_PINNED = EnumSet.of(Permission.ADMIN_ACCESS, Permission.ROLES_MANAGE);
+
+    private final RoleDefinitionRepository roleDefinitionRepository;
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+
+    public PermissionRegistry(RoleDefinitionRepository roleDefinitionRepository, InvalidationBus invalidationBus,
+                              TransactionTemplate transactionTemplate) {
+        this.roleDefinitionRepository = roleDefinitionRepository;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = transactionTemplate;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<RoleDefinition> definitions = roleDefinitionRepository.findAll();
+        definitions.forEach(this::apply);
+        log.info("Loaded permissions for {} roles", definitions.size());
+    }
+
+    public List<RoleDefinition> findAll() {
+        return roleDefinitionRepository.findAll();
+    }
+
+    public RoleDefinition updatePermissions(Role role, Set<Permission> permissions) {
+        // The roles endpoint itself needs ROLES_MANAGE: an ADMIN without it (or without ADMIN_ACCESS)
+        // could leave nobody able to undo the change
+        if (role == Role.ADMIN && !permissions.containsAll(ADMIN_PINNED)) {
+            throw new RolePermissionsException(RolePermissionsException.ADMIN_LOCKOUT);
+        }
+        RoleDefinition definition = transactionTemplate.execute(status -> {
+            RoleDefinition current = roleDefinitionRepository.findById(role)
+                    .orElseGet(() -> RoleDefinition.builder().name(role).build());
+            EnumSet<Permission> granted = EnumSet.noneOf(Permission.class);
+            granted.addAll(permissions);
+            current.setPermissions(granted);
+            // Flush now so the bumped version is known before it is applied and announced
+            return roleDefinitionRepository.saveAndFlush(current);
+        });
+        // Only once committed: after a rollback this node must not serve permissions that were never
+        // stored, under a version that would then block the correct reload
+        apply(definition);
+        invalidationBus.publish(InvalidationEvent.Type.ROLE_CHANGED, role.name());
+        return definition;
+    }
+
+    private void onInvalidation(InvalidationEvent event) {
+        if (event.type() == InvalidationEvent.Type.ROLE_CHANGED) {
+            roleDefinitionRepository.findById(Role.valueOf(event.key())).ifPresent(this::apply);
+        }
+    }
+
+    private void apply(RoleDefinition definition) {
+        definition.getName().apply(definition.getVersion(), definition.getPermissions());
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.Permission;
+import com.demo.autenticacion.autenticacionJWT.models.ServiceClient;
+import com.demo.autenticacion.autenticacionJWT.repositories.ServiceClientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registered service clients held in memory: loaded at startup, updated by the node that changes a
+// client as soon as it commits, and reloaded per client on CLIENT_CHANGED everywhere else. Issuing a
+// token reads the secret hash and scopes from here; accepting one checks that it was issued under
+// the client's current secret, so a rotation or removal invalidates its tokens without a cut-off.
+@Component
+public class ServiceClientRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceClientRegistry.class);
+    private static final int SECRET_VERSION_BYTES = 8;
+
+    private final ServiceClientRepository serviceClientRepository;
+    private final Map<String, RegisteredClient> clients = new ConcurrentHashMap<>();
+
+    public ServiceClientRegistry(ServiceClientRepository serviceClientRepository, InvalidationBus invalidationBus) {
+        this.serviceClientRepository = serviceClientRepository;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ServiceClient> all = serviceClientRepository.findAll();
+        all.forEach(this::cache);
+        log.info("Loaded {} service clients", all.size());
+    }
+
+    public RegisteredClient get(String clientId) {
+        return clients.get(clientId);
+    }
+
+    // A token without a secret version, or for a client that is gone, is never current
+    public boolean isCurrent(String clientId, String secretVersion) {
+        RegisteredClient client = clients.get(clientId);
+        return client != null && client.secretVersion().equals(secretVersion);
+    }
+
+    public void cache(ServiceClient client) {
+        clients.put(client.getClientId(), new RegisteredClient(client.getSecretHash(),
+                Permission.mask(client.getScopes()), secretVersion(client.getSecretHash())));
+    }
+
+    public void evict(String clientId) {
+        clients.remove(clientId);
+    }
+
+    private void onInvalidation(InvalidationEvent event) {
+        if (event.type() == InvalidationEvent.Type.CLIENT_CHANGED) {
+            String clientId = event.key();
+            serviceClientRepository.findById(clientId).ifPresentOrElse(this::cache, () -> evict(clientId));
+        }
+    }
+
+    // Derived from the stored hash, so every node agrees on it without a column of its own and a client
+    // removed and registered again never gets back a version its old tokens carry. A digest of the
+    // hash, so tokens do not expose the hash itself.
+    private static String secretVersion(byte[] secretHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretHash);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, SECRET_VERSION_BYTES));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record RegisteredClient(byte[] secretHash, long scopeMask, String secretVersion) {
+    }
+}
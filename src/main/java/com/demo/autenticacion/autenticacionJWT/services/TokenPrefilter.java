@@ -0,0 +1,127 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidTokenException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Cheap structural checks run before the full jjwt parse: length limit, three Base64URL segments
+// and an acceptable "alg" in the header. Nothing is allocated on the happy path; rejections throw
+// the shared stackless InvalidTokenException instances.
+@Component
+public class TokenPrefilter {
+
+    private static final int MAX_HEADER_BYTES = 256;
+    private static final byte[] ALG_KEY = "\"alg\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXPECTED_ALG = "HS256".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64URL = new byte[128];
+    private static final ThreadLocal<byte[]> HEADER_BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_HEADER_BYTES]);
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final int maxLength;
+
+    public TokenPrefilter(@Value("${jwt.prefilter.max-length:2048}") int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public void check(String token) {
+        int length = token.length();
+        if (length > maxLength) {
+            throw InvalidTokenException.TOO_LONG;
+        }
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    throw InvalidTokenException.MALFORMED;
+                }
+            } else if (c >= 128 || BASE64URL[c] < 0) {
+                throw InvalidTokenException.MALFORMED;
+            }
+        }
+        // header, payload and signature must all be present
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == length - 1) {
+            throw InvalidTokenException.MALFORMED;
+        }
+        if (!hasExpectedAlgorithm(token, firstDot)) {
+            throw InvalidTokenException.UNSUPPORTED_ALGORITHM;
+        }
+    }
+
+    private static boolean hasExpectedAlgorithm(String token, int headerEnd) {
+        if (headerEnd % 4 == 1 || headerEnd * 3 / 4 > MAX_HEADER_BYTES) {
+            throw InvalidTokenException.MALFORMED;
+        }
+        byte[] header = HEADER_BUFFER.get();
+        int size = 0;
+        int acc = 0;
+        int bits = 0;
+        for (int i = 0; i < headerEnd; i++) {
+            acc = (acc << 6) | BASE64URL[token.charAt(i)];
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                header[size++] = (byte) (acc >> bits);
+                acc &= (1 << bits) - 1;
+            }
+        }
+
+        int pos = indexOf(header, size, ALG_KEY);
+        if (pos < 0) {
+            return false;
+        }
+        pos = skipWhitespace(header, size, pos + ALG_KEY.length);
+        if (pos >= size || header[pos] != ':') {
+            return false;
+        }
+        pos = skipWhitespace(header, size, pos + 1);
+        if (pos >= size || header[pos] != '"') {
+            return false;
+        }
+        pos++;
+        if (pos + EXPECTED_ALG.length >= size) {
+            return false;
+        }
+        for (int i = 0; i < EXPECTED_ALG.length; i++) {
+            if (header[pos + i] != EXPECTED_ALG[i]) {
+                return false;
+            }
+        }
+        return header[pos + EXPECTED_ALG.length] == '"';
+    }
+
+    private static int indexOf(byte[] data, int size, byte[] needle) {
+        outer:
+        for (int i = 0; i <= size - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (data[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] data, int size, int pos) {
+        while (pos < size && (data[pos] == ' ' || data[pos] == '\t' || data[pos] == '\n' || data[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+}
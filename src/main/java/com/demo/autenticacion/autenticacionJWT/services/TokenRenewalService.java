@@ -0,0 +1,72 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.models.Usuario;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sliding sessions: a request whose access token is inside the renewal window gets a fresh token back
+// in the X-Renewed-Token header, so active clients rarely need /refresh. Each token is renewed at most
+// once; concurrent requests still carrying it are handed the same replacement.
+@Component
+public class TokenRenewalService {
+
+    public static final String HEADER = "X-Renewed-Token";
+
+    // Keyed by the token signature; an entry is dropped once the token it replaced has expired
+    private final Map<String, Renewal> renewals = new ConcurrentHashMap<>();
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxEntries;
+
+    public TokenRenewalService(JwtService jwtService,
+                               @Value("${jwt.sliding-renewal.enabled:false}") boolean enabled,
+                               @Value("${jwt.sliding-renewal.window:PT1H}") Duration window,
+                               @Value("${jwt.sliding-renewal.max-entries:10000}") int maxEntries) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    // Returns the replacement token, or null when the token is not due (or renewal is off)
+    public String renewIfNearExpiry(String token, Claims claims, UserDetails userDetails) {
+        // Service clients just request a new token from /token
+        if (!enabled || !(userDetails instanceof Usuario)) {
+            return null;
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        if (expiresAt - System.currentTimeMillis() > windowMillis) {
+            return null;
+        }
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        Renewal renewal = renewals.get(signature);
+        if (renewal != null) {
+            return renewal.token();
+        }
+        if (renewals.size() >= maxEntries) {
+            purge();
+            if (renewals.size() >= maxEntries) {
+                return null; // the client can still fall back to /refresh
+            }
+        }
+        return renewals.computeIfAbsent(signature,
+                key -> new Renewal(jwtService.generateToken(userDetails), expiresAt)).token();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purge() {
+        long now = System.currentTimeMillis();
+        renewals.values().removeIf(renewal -> renewal.replacedExpiresAt() <= now);
+    }
+
+    private record Renewal(String token, long replacedExpiresAt) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.exceptions.ResourceNotFoundException;
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.Role;
+import com.demo.autenticacion.autenticacionJWT.models.SessionEpoch;
+import com.demo.autenticacion.autenticacionJWT.models.Usuario;
+import com.demo.autenticacion.autenticacionJWT.repositories.SessionEpochRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// "Tokens issued before" cut-offs, checked on every request without touching the database. Per-user
+// cut-offs come from TOKEN_REVOKED (credential changes); forced logouts of a user, a role or everyone
+// come from SESSIONS_REVOKED. Both are persisted in session_epochs before they are announced, so a
+// node that starts after the outbox event is gone still honours them. Other nodes read the stored value
+// back within the invalidation bus delay, so every node, restarted or not, applies the same cut-off.
+// Cut-offs are epoch milliseconds, compared against the token's millisecond issue time, so a login right
+// after a password change gets a token that works.
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    // Indexed by Role.ordinal()
+    private final AtomicLongArray roleRevokedBefore = new AtomicLongArray(Role.values().length);
+    private volatile long globalRevokedBefore = NONE;
+
+    private final InvalidationBus invalidationBus;
+    private final SessionEpochRepository sessionEpochRepository;
+    private final UserExistenceIndex userExistenceIndex;
+    private final long retentionMillis;
+
+    public TokenRevocationRegistry(InvalidationBus invalidationBus, SessionEpochRepository sessionEpochRepository,
+                                   UserExistenceIndex userExistenceIndex,
+                                   @Value("${auth.revocation.retention:${jwt.refresh-token-ttl:P7D}}") Duration retention) {
+        this.invalidationBus = invalidationBus;
+        this.sessionEpochRepository = sessionEpochRepository;
+        this.userExistenceIndex = userExistenceIndex;
+        this.retentionMillis = retention.toMillis();
+        for (int i = 0; i < roleRevokedBefore.length(); i++) {
+            roleRevokedBefore.set(i, NONE);
+        }
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<SessionEpoch> epochs = sessionEpochRepository.findAll();
+        epochs.forEach(epoch -> apply(epoch.getKey(), epoch.getNotBefore()));
+        log.info("Loaded {} session epochs", epochs.size());
+    }
+
+    // A token without an issue time comes in as Long.MIN_VALUE and predates every cut-off
+    public boolean isRevoked(UserDetails user, long issuedAtMillis) {
+        if (issuedAtMillis < globalRevokedBefore) {
+            return true;
+        }
+        if (user instanceof Usuario usuario && issuedAtMillis < roleRevokedBefore.get(usuario.getRole().ordinal())) {
+            return true;
+        }
+        Long cutoff = revokedBefore.get(user.getUsername());
+        return cutoff != null && issuedAtMillis < cutoff;
+    }
+
+    public Instant revokeUser(String username) {
+        if (!userExistenceIndex.usernameTaken(username)) {
+            throw new ResourceNotFoundException("User not found: " + username);
+        }
+        return forceLogout(SessionEpoch.userKey(username));
+    }
+
+    public Instant revokeRole(Role role) {
+        return forceLogout(SessionEpoch.roleKey(role));
+    }
+
+    public Instant revokeAll() {
+        return forceLogout(SessionEpoch.GLOBAL);
+    }
+
+    // Password change or reset: every token the user holds stops working
+    public void revokeCredentials(String username) {
+        persist(SessionEpoch.userKey(username));
+        invalidationBus.publish(InvalidationEvent.Type.TOKEN_REVOKED, username);
+    }
+
+    private Instant forceLogout(String key) {
+        long notBefore = persist(key);
+        invalidationBus.publish(InvalidationEvent.Type.SESSIONS_REVOKED, key);
+        return Instant.ofEpochMilli(notBefore);
+    }
+
+    // Persisted before it is announced, so every node that hears of it reads back this exact value
+    private long persist(String key) {
+        long notBefore = System.currentTimeMillis();
+        sessionEpochRepository.save(SessionEpoch.builder().key(key).notBefore(notBefore).build());
+        apply(key, notBefore);
+        return notBefore;
+    }
+
+    private void onInvalidation(InvalidationEvent event) {
+        if (event.type() == InvalidationEvent.Type.TOKEN_REVOKED) {
+            reload(SessionEpoch.userKey(event.key()));
+        } else if (event.type() == InvalidationEvent.Type.SESSIONS_REVOKED) {
+            reload(event.key());
+        }
+    }
+
+    // The stored row is the cut-off; the event only says which one moved. Its own timestamp is later and
+    // would also reject tokens minted between the two.
+    private void reload(String key) {
+        sessionEpochRepository.findById(key).ifPresent(epoch -> apply(key, epoch.getNotBefore()));
+    }
+
+    private void apply(String key, long cutoff) {
+        if (SessionEpoch.GLOBAL.equals(key)) {
+            synchronized (this) {
+                globalRevokedBefore = Math.max(globalRevokedBefore, cutoff);
+            }
+        } else if (key.startsWith(SessionEpoch.ROLE_PREFIX)) {
+            int index = Role.valueOf(key.substring(SessionEpoch.ROLE_PREFIX.length())).ordinal();
+            roleRevokedBefore.accumulateAndGet(index, cutoff, Math::max);
+        } else if (key.startsWith(SessionEpoch.USER_PREFIX)) {
+            revokedBefore.merge(key.substring(SessionEpoch.USER_PREFIX.length()), cutoff, Math::max);
+        }
+    }
+
+    // Once every token issued before a cut-off has expired on its own, the entry is dead weight
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purge() {
+        long oldest = System.currentTimeMillis() - retentionMillis;
+        revokedBefore.values().removeIf(cutoff -> cutoff < oldest);
+        sessionEpochRepository.deleteUserEpochsBefore(oldest);
+    }
+}
@@ -0,0 +1,72 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.Usuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Short-lived cache of Usuario lookups in front of UserDetailsService, so authenticated requests
+// don't hit "usuarios" every time. USER_CHANGED events evict entries on every node.
+@Component
+public class UserCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Compact tokens carry the user id instead of the username; usernames never change once registered
+    private final Map<Long, String> usernamesById = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public UserCache(InvalidationBus invalidationBus,
+                     @Value("${auth.user-cache.ttl:PT5M}") Duration ttl,
+                     @Value("${auth.user-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public Usuario get(String username, Function<String, Usuario> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.usuario();
+        }
+        Usuario usuario = loader.apply(username);
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+        }
+        if (entries.size() < maxEntries) {
+            entries.put(username, new Entry(usuario, now + ttlMillis));
+        }
+        return usuario;
+    }
+
+    public Usuario getById(Long id, Function<Long, Usuario> loader) {
+        String username = usernamesById.get(id);
+        if (username != null) {
+            return get(username, ignored -> loader.apply(id));
+        }
+        Usuario usuario = loader.apply(id);
+        if (usernamesById.size() < maxEntries) {
+            usernamesById.put(id, usuario.getUsername());
+        }
+        return get(usuario.getUsername(), ignored -> usuario);
+    }
+
+    public void evict(String username) {
+        entries.remove(username);
+    }
+
+    private void onInvalidation(InvalidationEvent event) {
+        if (event.type() == InvalidationEvent.Type.USER_CHANGED) {
+            evict(event.key());
+        }
+    }
+
+    private record Entry(Usuario usuario, long expiresAt) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.demo.autenticacion.autenticacionJWT.services;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.BloomFilter;
+import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioIdentity;
+import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// In-memory index of taken usernames and emails. A negative Bloom filter answer proves the value
+// is free without touching the database; a positive one is confirmed with an indexed exists query.
+// The unique constraints on "usuarios" remain the final authority for races between nodes.
+@Component
+public class UserExistenceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceIndex.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private volatile boolean warmedUp;
+
+    public UserExistenceIndex(UsuarioRepository usuarioRepository,
+                              @Value("${auth.user-index.expected-users:100000}") long expectedUsers,
+                              @Value("${auth.user-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usuarioRepository = usuarioRepository;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        long count = 0;
+        try (Stream<UsuarioIdentity> identities = usuarioRepository.streamIdentities()) {
+            for (UsuarioIdentity identity : (Iterable<UsuarioIdentity>) identities::iterator) {
+                record(identity.getUsername(), identity.getEmail());
+                count++;
+            }
+        }
+        warmedUp = true;
+        log.info("User existence index warmed up with {} users", count);
+    }
+
+    public void record(String username, String email) {
+        usernames.put(normalize(username));
+        emails.put(normalize(email));
+    }
+
+    public boolean usernameTaken(String username) {
+        if (warmedUp && !usernames.mightContain(normalize(username))) {
+            return false;
+        }
+        return usuarioRepository.existsByUsername(username);
+    }
+
+    public boolean emailTaken(String email) {
+        if (warmedUp && !emails.mightContain(normalize(email))) {
+            return false;
+        }
+        return usuarioRepository.existsByEmail(email);
+    }
+
+    // MySQL's default collation compares case-insensitively, so the index does too
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
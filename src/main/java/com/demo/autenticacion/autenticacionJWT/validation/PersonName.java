@@ -0,0 +1,28 @@
+package com.demo.autenticacion.autenticacionJWT.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Same rule as the former @Pattern "^[a-zA-Z\sáéíóúÁÉÍÓÚñÑ'-]+$" (or "*" with optional = true):
+// ASCII letters, whitespace, Spanish accented vowels and ñ, apostrophe and hyphen. Null is valid.
+@Documented
+@Constraint(validatedBy = PersonNameValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PersonName {
+
+    String message() default "Name can only contain letters, spaces, and valid special characters";
+
+    // Accept the empty string, for optional name parts
+    boolean optional() default false;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
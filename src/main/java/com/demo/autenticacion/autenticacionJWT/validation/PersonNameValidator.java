@@ -0,0 +1,50 @@
+package com.demo.autenticacion.autenticacionJWT.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class PersonNameValidator implements ConstraintValidator<PersonName, CharSequence> {
+
+    // Covers every allowed character: ASCII plus the accented letters, all below U+0100
+    private static final boolean[] ALLOWED = new boolean[256];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ALLOWED[c] = true;
+            ALLOWED[Character.toUpperCase(c)] = true;
+        }
+        // \s in java.util.regex without UNICODE_CHARACTER_CLASS
+        for (char c : " \t\n\u000B\f\r".toCharArray()) {
+            ALLOWED[c] = true;
+        }
+        for (char c : "áéíóúÁÉÍÓÚñÑ'-".toCharArray()) {
+            ALLOWED[c] = true;
+        }
+    }
+
+    private boolean optional;
+
+    @Override
+    public void initialize(PersonName constraint) {
+        this.optional = constraint.optional();
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || isName(value, optional);
+    }
+
+    static boolean isName(CharSequence value, boolean optional) {
+        int length = value.length();
+        if (length == 0) {
+            return optional;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 256 || !ALLOWED[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
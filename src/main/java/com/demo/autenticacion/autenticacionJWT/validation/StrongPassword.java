@@ -0,0 +1,25 @@
+package com.demo.autenticacion.autenticacionJWT.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Same rule as the former @Pattern "^(?=.*[a-z])(?=.*[A-Z])(?=.*\d)(?=.*[@$!%*?&])[A-Za-z\d@$!%*?&]+$",
+// checked in one pass without a regex. Null is valid (pair it with @NotBlank).
+@Documented
+@Constraint(validatedBy = StrongPasswordValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StrongPassword {
+
+    String message() default "Password must contain at least one uppercase letter, one lowercase letter, one number, and one special character";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,48 @@
+package com.demo.autenticacion.autenticacionJWT.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class StrongPasswordValidator implements ConstraintValidator<StrongPassword, CharSequence> {
+
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private static final int DIGIT = 4;
+    private static final int SPECIAL = 8;
+    private static final int ALL = LOWER | UPPER | DIGIT | SPECIAL;
+
+    // Class bit per allowed ASCII character; 0 means the character is not allowed at all
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = LOWER;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CLASSES[c] = UPPER;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = DIGIT;
+        }
+        for (char c : "@$!%*?&".toCharArray()) {
+            CLASSES[c] = SPECIAL;
+        }
+    }
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || isStrong(value);
+    }
+
+    static boolean isStrong(CharSequence value) {
+        int seen = 0;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 128 || CLASSES[c] == 0) {
+                return false;
+            }
+            seen |= CLASSES[c];
+        }
+        return seen == ALL;
+    }
+}
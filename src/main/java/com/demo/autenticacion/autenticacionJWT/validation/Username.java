@@ -0,0 +1,24 @@
+package com.demo.autenticacion.autenticacionJWT.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Same rule as the former @Pattern "^[a-zA-Z0-9_]+$". Null is valid (pair it with @NotBlank).
+@Documented
+@Constraint(validatedBy = UsernameValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Username {
+
+    String message() default "Username can only contain letters, numbers, and underscores";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
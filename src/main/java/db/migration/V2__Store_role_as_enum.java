@@ -0,0 +1,60 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Databases created by ddl-auto=update store usuarios.role as an ordinal TINYINT, usually guarded
+// by a CHECK constraint. Convert it to ENUM('USER','ADMIN') (ordinal 0 = USER, 1 = ADMIN).
+// Fresh databases already get the ENUM from V1 and are left untouched.
+public class V2__Store_role_as_enum extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (currentRoleType(connection).startsWith("enum")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String constraint : roleCheckConstraints(connection)) {
+                statement.execute("ALTER TABLE usuarios DROP CHECK `" + constraint + "`");
+            }
+            statement.execute("ALTER TABLE usuarios ADD COLUMN role_code ENUM ('USER', 'ADMIN') NULL AFTER role");
+            statement.execute("UPDATE usuarios SET role_code = ELT(role + 1, 'USER', 'ADMIN')");
+            statement.execute("ALTER TABLE usuarios DROP COLUMN role, "
+                    + "CHANGE COLUMN role_code role ENUM ('USER', 'ADMIN') NOT NULL");
+        }
+    }
+
+    private static String currentRoleType(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'usuarios' AND COLUMN_NAME = 'role'");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getString(1).toLowerCase() : "";
+        }
+    }
+
+    private static List<String> roleCheckConstraints(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT cc.CONSTRAINT_NAME FROM information_schema.CHECK_CONSTRAINTS cc "
+                        + "JOIN information_schema.TABLE_CONSTRAINTS tc "
+                        + "ON tc.CONSTRAINT_SCHEMA = cc.CONSTRAINT_SCHEMA AND tc.CONSTRAINT_NAME = cc.CONSTRAINT_NAME "
+                        + "WHERE tc.TABLE_SCHEMA = DATABASE() AND tc.TABLE_NAME = 'usuarios' "
+                        + "AND tc.CONSTRAINT_TYPE = 'CHECK' AND cc.CHECK_CLAUSE LIKE '%role%'");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,36 @@
+-- Esquema base. IF NOT EXISTS permite adoptar bases creadas antes con ddl-auto=update
+-- (spring.flyway.baseline-on-migrate + baseline-version=0); V2 normaliza lo que difiera.
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name       VARCHAR(50)  NOT NULL,
+    second_name      VARCHAR(50),
+    first_last_name  VARCHAR(50)  NOT NULL,
+    second_last_name VARCHAR(50),
+    username         VARCHAR(20)  NOT NULL,
+    email            VARCHAR(100) NOT NULL,
+    password         VARCHAR(100) NOT NULL,
+    role             ENUM ('USER', 'ADMIN') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_username UNIQUE (username),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS password_reset_token (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    token             VARCHAR(255),
+    usuario_id        BIGINT       NOT NULL,
+    expiry_date_token DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_password_reset_token_usuario UNIQUE (usuario_id),
+    CONSTRAINT fk_password_reset_token_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS auth_invalidation_events (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    type       VARCHAR(20)  NOT NULL,
+    event_key  VARCHAR(100) NOT NULL,
+    origin     VARCHAR(64)  NOT NULL,
+    created_at BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,11 @@
+-- usuarios: las búsquedas por username/email ya usan los índices únicos.
+
+-- findByToken / canje del token de recuperación
+CREATE UNIQUE INDEX uk_password_reset_token_token ON password_reset_token (token);
+
+-- limpieza de tokens expirados
+CREATE INDEX idx_password_reset_token_expiry ON password_reset_token (expiry_date_token);
+
+-- purga del outbox de invalidaciones (DELETE ... WHERE created_at < ?); el sondeo va por la clave
+-- primaria (WHERE id > ? ORDER BY id)
+CREATE INDEX idx_auth_invalidation_events_created ON auth_invalidation_events (created_at);
@@ -0,0 +1,41 @@
+-- Permisos por rol (models/Permission, models/RoleDefinition). "version" se incrementa en cada
+-- cambio para que cada nodo sepa si su copia en memoria está al día.
+
+CREATE TABLE permissions (
+    name VARCHAR(64) NOT NULL,
+    code VARCHAR(64) NOT NULL,
+    PRIMARY KEY (name),
+    CONSTRAINT uk_permissions_code UNIQUE (code)
+) ENGINE = InnoDB;
+
+CREATE TABLE roles (
+    name    VARCHAR(20) NOT NULL,
+    version BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE role_permissions (
+    role       VARCHAR(20) NOT NULL,
+    permission VARCHAR(64) NOT NULL,
+    PRIMARY KEY (role, permission),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role) REFERENCES roles (name),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission) REFERENCES permissions (name)
+) ENGINE = InnoDB;
+
+INSERT INTO permissions (name, code) VALUES
+    ('USER_ACCESS', 'user:access'),
+    ('ADMIN_ACCESS', 'admin:access'),
+    ('USERS_READ', 'users:read'),
+    ('USERS_WRITE', 'users:write'),
+    ('ROLES_MANAGE', 'roles:manage');
+
+INSERT INTO roles (name, version) VALUES ('USER', 1), ('ADMIN', 1);
+
+-- Mismos valores por defecto que models/Role
+INSERT INTO role_permissions (role, permission) VALUES
+    ('USER', 'USER_ACCESS'),
+    ('ADMIN', 'USER_ACCESS'),
+    ('ADMIN', 'ADMIN_ACCESS'),
+    ('ADMIN', 'USERS_READ'),
+    ('ADMIN', 'USERS_WRITE'),
+    ('ADMIN', 'ROLES_MANAGE');
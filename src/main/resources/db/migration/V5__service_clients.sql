@@ -0,0 +1,17 @@
+-- Clientes de servicio para el grant client-credentials (models/ServiceClient). Solo se guarda el
+-- HMAC-SHA256 del secreto (con auth.clients.secret-pepper), nunca el secreto.
+
+CREATE TABLE service_clients (
+    client_id   VARCHAR(64)   NOT NULL,
+    secret_hash VARBINARY(32) NOT NULL,
+    created_at  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (client_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE service_client_scopes (
+    client_id  VARCHAR(64) NOT NULL,
+    permission VARCHAR(64) NOT NULL,
+    PRIMARY KEY (client_id, permission),
+    CONSTRAINT fk_service_client_scopes_client FOREIGN KEY (client_id) REFERENCES service_clients (client_id) ON DELETE CASCADE,
+    CONSTRAINT fk_service_client_scopes_permission FOREIGN KEY (permission) REFERENCES permissions (name)
+) ENGINE = InnoDB;
@@ -0,0 +1,8 @@
+-- Cortes de sesión forzados (models/SessionEpoch): los tokens del destino emitidos antes de
+-- not_before (milisegundos epoch) se rechazan. epoch_key = 'user:<username>', 'role:<ROLE>' o 'global'.
+
+CREATE TABLE session_epochs (
+    epoch_key  VARCHAR(110) NOT NULL,
+    not_before BIGINT       NOT NULL,
+    PRIMARY KEY (epoch_key)
+) ENGINE = InnoDB;
@@ -0,0 +1,60 @@
+package com.demo.autenticacion.autenticacionJWT;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// End-to-end register -> authenticate -> protected call against an embedded database.
+// Also runs as a native test (mvn -PnativeTest test) to validate the native-image hints.
+@SpringBootTest
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class AuthFlowSmokeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void registerAuthenticateAndCallProtectedEndpoint() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "firstName": "Smoke",
+                                    "firstLastName": "Test",
+                                    "email": "smoke@test.com",
+                                    "username": "smokeTest",
+                                    "password": "Smoke@2025",
+                                    "role": "USER"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(201));
+
+        String body = mockMvc.perform(post("/api/v1/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "smokeTest", "password": "Smoke@2025"}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.data.authenticationToken");
+
+        mockMvc.perform(post("/api/v1/user/testUser")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/user/testUser")
+                        .header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,103 @@
+package com.demo.autenticacion.autenticacionJWT;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Registration with an Idempotency-Key: retries reach the user created by the first request, with
+// tokens of their own, and never register twice.
+@SpringBootTest
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class IdempotencyTests {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void replayIssuesFreshTokensForTheSameUser() throws Exception {
+        String first = register("idem-replay", "idemReplay", "Idem@2025")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Thread.sleep(5); // tokens minted in a later millisecond differ
+        String replay = register("idem-replay", "idemReplay", "Idem@2025")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String firstToken = JsonPath.read(first, "$.data.authenticationToken");
+        String replayToken = JsonPath.read(replay, "$.data.authenticationToken");
+        assertNotEquals(firstToken, replayToken);
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", "Bearer " + replayToken))
+                .andExpect(status().isOk());
+        // Without the key the same registration is a duplicate, so the replay did not create a user
+        register(null, "idemReplay", "Idem@2025").andExpect(status().isConflict());
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsRejected() throws Exception {
+        register("idem-reused", "idemReused", "Idem@2025").andExpect(status().isOk());
+        register("idem-reused", "idemReused", "Other@2025").andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void concurrentDuplicatesRegisterOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return register("idem-concurrent", "idemConcurrent", "Idem@2025")
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        register(null, "idemConcurrent", "Idem@2025").andExpect(status().isConflict());
+    }
+
+    private ResultActions register(String idempotencyKey, String username, String password) throws Exception {
+        var request = post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "firstName": "Idem",
+                            "firstLastName": "Test",
+                            "email": "%s@test.com",
+                            "username": "%s",
+                            "password": "%s",
+                            "role": "USER"
+                        }
+                        """.formatted(username.toLowerCase(), username, password));
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return mockMvc.perform(request);
+    }
+}
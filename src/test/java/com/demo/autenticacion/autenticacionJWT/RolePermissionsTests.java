@@ -0,0 +1,61 @@
+package com.demo.autenticacion.autenticacionJWT;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ADMIN cannot be stripped of what it takes to manage roles, or nobody could restore it.
+@SpringBootTest
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class RolePermissionsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void adminKeepsRoleManagement() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "firstName": "Roles",
+                                    "firstLastName": "Test",
+                                    "email": "roles@test.com",
+                                    "username": "rolesAdmin",
+                                    "password": "Roles@2025",
+                                    "role": "ADMIN"
+                                }
+                                """))
+                .andExpect(status().isOk());
+        String body = mockMvc.perform(post("/api/v1/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "rolesAdmin", "password": "Roles@2025"}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String adminToken = "Bearer " + JsonPath.read(body, "$.data.authenticationToken");
+
+        mockMvc.perform(put("/api/v1/admin/roles/ADMIN/permissions").header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"permissions\": [\"ADMIN_ACCESS\", \"USERS_READ\"]}"))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(put("/api/v1/admin/roles/ADMIN/permissions").header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"permissions\": [\"ROLES_MANAGE\"]}"))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(get("/api/v1/admin/roles").header("Authorization", adminToken))
+                .andExpect(status().isOk());
+    }
+}
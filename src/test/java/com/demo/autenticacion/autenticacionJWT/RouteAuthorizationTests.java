@@ -0,0 +1,81 @@
+package com.demo.autenticacion.autenticacionJWT;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Route rules must hold for every spelling of a path that Spring MVC dispatches to the same handler.
+// URIs are passed as java.net.URI so MockMvc keeps the percent-encoding as sent.
+@SpringBootTest
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class RouteAuthorizationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String userToken;
+
+    @BeforeEach
+    void authenticateAsUser() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "firstName": "Route",
+                            "firstLastName": "Test",
+                            "email": "route@test.com",
+                            "username": "routeTest",
+                            "password": "Route@2025",
+                            "role": "USER"
+                        }
+                        """));
+        String body = mockMvc.perform(post("/api/v1/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "routeTest", "password": "Route@2025"}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        userToken = "Bearer " + JsonPath.read(body, "$.data.authenticationToken");
+    }
+
+    @Test
+    void encodedAdminPathsAreForbiddenForUsers() throws Exception {
+        mockMvc.perform(post(URI.create("/api/v1/admin/sessions/revoke")).header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(URI.create("/api/v1/%61dmin/sessions/revoke")).header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(URI.create("/api/v1/admin/%73essions/users/routeTest/revoke")).header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put(URI.create("/api/v1/%61dmin/roles/USER/permissions")).header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"permissions\": [\"ADMIN_ACCESS\"]}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(URI.create("/api/v1/admin/%63lients")).header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(URI.create("/api/v1/%61dmin/clients")).header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"clientId\": \"rogue\", \"scopes\": [\"ADMIN_ACCESS\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void encodedUserPathResolvesToTheSameRule() throws Exception {
+        mockMvc.perform(post(URI.create("/api/v1/%75ser/testUser")).header("Authorization", userToken))
+                .andExpect(status().isOk());
+    }
+}
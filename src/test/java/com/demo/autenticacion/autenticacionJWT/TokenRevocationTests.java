@@ -0,0 +1,156 @@
+package com.demo.autenticacion.autenticacionJWT;
+
+import com.demo.autenticacion.autenticacionJWT.models.InvalidationEvent;
+import com.demo.autenticacion.autenticacionJWT.models.SessionEpoch;
+import com.demo.autenticacion.autenticacionJWT.services.InvalidationBus;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Revocation cut-offs must reject the tokens issued before them and nothing issued after, however
+// close together the two are. Each test uses its own user, since the context is shared.
+@SpringBootTest
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class TokenRevocationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Test
+    void loginRightAfterPasswordChangeIsValid() throws Exception {
+        register("revokePwd", "USER", "Revoke@2025");
+        String oldToken = authenticate("revokePwd", "Revoke@2025");
+
+        mockMvc.perform(post("/api/v1/auth/change-password").header("Authorization", oldToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"currentPassword": "Revoke@2025", "newPassword": "Changed@2026"}
+                                """))
+                .andExpect(status().isOk());
+        String newToken = authenticate("revokePwd", "Changed@2026");
+
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", oldToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void loginRightAfterForcedLogoutIsValid() throws Exception {
+        register("revokeAdmin", "ADMIN", "Revoke@2025");
+        register("revokeSession", "USER", "Revoke@2025");
+        String adminToken = authenticate("revokeAdmin", "Revoke@2025");
+        String oldToken = authenticate("revokeSession", "Revoke@2025");
+
+        mockMvc.perform(post("/api/v1/admin/sessions/users/revokeSession/revoke").header("Authorization", adminToken))
+                .andExpect(status().isOk());
+        String newToken = authenticate("revokeSession", "Revoke@2025");
+
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", oldToken))
+                .andExpect(status().isForbidden());
+
+        // Another node hears of the logout later than it happened; it must still apply the stored
+        // cut-off, not one taken from the event, and agree with this node about the new token
+        invalidationBus.publish(InvalidationEvent.Type.SESSIONS_REVOKED, SessionEpoch.userKey("revokeSession"));
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", oldToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void forcedLogoutOfUnknownUserIsNotFound() throws Exception {
+        register("revokeAdmin2", "ADMIN", "Revoke@2025");
+        String adminToken = authenticate("revokeAdmin2", "Revoke@2025");
+
+        mockMvc.perform(post("/api/v1/admin/sessions/users/nobodyHere/revoke").header("Authorization", adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void clientRotationTakesEffectImmediately() throws Exception {
+        register("revokeClients", "ADMIN", "Revoke@2025");
+        String adminToken = authenticate("revokeClients", "Revoke@2025");
+        String oldSecret = registerClient(adminToken);
+        String oldToken = clientToken(oldSecret);
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", oldToken))
+                .andExpect(status().isOk());
+
+        String newSecret = registerClient(adminToken);
+        mockMvc.perform(post("/api/v1/auth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "client_credentials")
+                        .param("client_id", "revoke-client")
+                        .param("client_secret", oldSecret))
+                .andExpect(status().isUnauthorized());
+        String newToken = clientToken(newSecret);
+
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", oldToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private String registerClient(String adminToken) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/admin/clients").header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clientId": "revoke-client", "scopes": ["USER_ACCESS"]}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.data.clientSecret");
+    }
+
+    private String clientToken(String secret) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/auth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "client_credentials")
+                        .param("client_id", "revoke-client")
+                        .param("client_secret", secret))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + JsonPath.read(body, "$.access_token");
+    }
+
+    private void register(String username, String role, String password) throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "firstName": "Revoke",
+                                    "firstLastName": "Test",
+                                    "email": "%s@test.com",
+                                    "username": "%s",
+                                    "password": "%s",
+                                    "role": "%s"
+                                }
+                                """.formatted(username.toLowerCase(), username, password, role)))
+                .andExpect(status().isOk());
+    }
+
+    private String authenticate(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"username": "%s", "password": "%s"}
+                                """.formatted(username, password)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + JsonPath.read(body, "$.data.authenticationToken");
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.autenticacion.autenticacionJWT;
+
+import com.demo.autenticacion.autenticacionJWT.dtos.RegisterRequest;
+import com.demo.autenticacion.autenticacionJWT.validation.PersonName;
+import com.demo.autenticacion.autenticacionJWT.validation.PersonNameValidator;
+import com.demo.autenticacion.autenticacionJWT.validation.StrongPasswordValidator;
+import com.demo.autenticacion.autenticacionJWT.validation.UsernameValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The regex-free constraint validators must accept exactly what the @Pattern regexes they replaced
+// accepted. A fixed-seed random corpus over every character class boundary of the four rules; the
+// load suite's ValidationBenchmarkTest only times them.
+class ValidatorEquivalenceTests {
+
+    private static final int SAMPLES = 20_000;
+    private static final Pattern PASSWORD = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]+$");
+    private static final Pattern USERNAME = Pattern.compile("^[a-zA-Z0-9_]+$");
+    private static final Pattern NAME = Pattern.compile("^[a-zA-Z\\sáéíóúÁÉÍÓÚñÑ'-]+$");
+    private static final Pattern OPTIONAL_NAME = Pattern.compile("^[a-zA-Z\\sáéíóúÁÉÍÓÚñÑ'-]*$");
+    // Every character class boundary of the four rules, plus non-ASCII look-alikes
+    private static final String ALPHABET = "aZm09_@$!%*?&#. \t\n\u000B\f\r\u0085áéíóúÁÉÍÓÚñÑüç'-٣é";
+
+    @Test
+    void validatorsMatchReplacedPatterns() throws NoSuchFieldException {
+        Random random = new Random(42);
+        PersonNameValidator name = personName("firstName");
+        PersonNameValidator optionalName = personName("secondName");
+        StrongPasswordValidator password = new StrongPasswordValidator();
+        UsernameValidator username = new UsernameValidator();
+        for (int i = 0; i < SAMPLES; i++) {
+            String value = randomString(random);
+            assertMatches(PASSWORD, value, v -> password.isValid(v, null));
+            assertMatches(USERNAME, value, v -> username.isValid(v, null));
+            assertMatches(NAME, value, v -> name.isValid(v, null));
+            assertMatches(OPTIONAL_NAME, value, v -> optionalName.isValid(v, null));
+        }
+    }
+
+    private static void assertMatches(Pattern pattern, String value, Predicate<String> validator) {
+        assertEquals(pattern.matcher(value).matches(), validator.test(value), () -> pattern + " on \"" + value + "\"");
+    }
+
+    private static String randomString(Random random) {
+        int length = random.nextInt(12);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    // Initialized from the real annotations: firstName is required, secondName optional
+    private static PersonNameValidator personName(String field) throws NoSuchFieldException {
+        PersonNameValidator validator = new PersonNameValidator();
+        validator.initialize(RegisterRequest.class.getDeclaredField(field).getAnnotation(PersonName.class));
+        return validator;
+    }
+}
@@ -0,0 +1,142 @@
+package com.demo.autenticacion.autenticacionJWT.load;
+
+import com.demo.autenticacion.autenticacionJWT.exceptions.InvalidCredentialsException;
+import com.demo.autenticacion.autenticacionJWT.exceptions.UserNotFoundException;
+import com.demo.autenticacion.autenticacionJWT.repositories.UsuarioRepository;
+import com.demo.autenticacion.autenticacionJWT.services.JwtService;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Failure-path cost of bad credentials and bad tokens, before and after the stackless exceptions.
+// "before" throws what the code threw originally (a fresh exception per failure, or jjwt's own
+// exception escaping); "after" goes through the current code: the shared constants and JwtService.
+// Both run at load.stackDepth frames, roughly where a request thread sits inside Tomcat and the
+// security filter chain, since that depth is what filling in a stack trace costs.
+// Part of the load suite:  mvn -Pload-test test -Dload.failures=100000 -Dload.stackDepth=150
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("embedded")
+@AutoConfigureMockMvc
+class AuthFailureBenchmarkTest {
+
+    private static final int ITERATIONS = Integer.getInteger("load.failures", 50_000);
+    private static final int STACK_DEPTH = Integer.getInteger("load.stackDepth", 150);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${jwt.secretKey}")
+    private String secretKey;
+
+    @Test
+    void badCredentialRejection() {
+        compare("unknown-user",
+                () -> usuarioRepository.findByUsername("nobody").orElseThrow(() -> new UsernameNotFoundException("User not found")),
+                () -> usuarioRepository.findByUsername("nobody").orElseThrow(() -> UserNotFoundException.INSTANCE));
+        // The password check itself (BCrypt) is the same on both sides and left out
+        compare("wrong-password",
+                () -> {
+                    throw new BadCredentialsException("Invalid username or password");
+                },
+                () -> {
+                    throw InvalidCredentialsException.INVALID_LOGIN;
+                });
+    }
+
+    @Test
+    void badTokenRejection() throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        SecretKey otherKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode("b3RoZXItc2lnbmluZy1rZXktb3RoZXItc2lnbmluZy1rZXk="));
+        JwtParser parser = Jwts.parser().verifyWith(key).build();
+        long now = System.currentTimeMillis();
+        String forged = Jwts.builder().subject("nobody").issuedAt(new Date(now)).expiration(new Date(now + 60_000))
+                .signWith(otherKey).compact();
+        String expired = Jwts.builder().subject("nobody").issuedAt(new Date(now - 120_000)).expiration(new Date(now - 60_000))
+                .signWith(key).compact();
+        String malformed = "eyJhbGciOiJIUzI1NiJ9.not-base64!.signature";
+
+        for (String[] token : new String[][]{{"forged", forged}, {"expired", expired}, {"malformed", malformed}}) {
+            compare("token-" + token[0],
+                    () -> parser.parseSignedClaims(token[1]).getPayload().getSubject(),
+                    () -> jwtService.extractUserName(token[1]));
+        }
+
+        // End to end through the filter chain and GlobalExceptionHandler (current code only)
+        int requests = ITERATIONS / 10;
+        int unauthorized = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int status = mockMvc.perform(post("/api/v1/user/testUser").header("Authorization", "Bearer " + forged))
+                    .andReturn().getResponse().getStatus();
+            unauthorized += status == 401 ? 1 : 0;
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / requests;
+        System.out.printf("%-20s n=%-8d avg=%9.2f us/request%n", "mockmvc-forged", requests, micros);
+        assertEquals(requests, unauthorized);
+    }
+
+    private static void compare(String name, Failure before, Failure after) {
+        double beforeNanos = time(before);
+        double afterNanos = time(after);
+        System.out.printf("%-20s n=%-8d depth=%-4d before=%9.2f us/op  after=%9.2f us/op  (x%.1f)%n",
+                name, ITERATIONS, STACK_DEPTH, beforeNanos / 1000, afterNanos / 1000, beforeNanos / afterNanos);
+    }
+
+    private static double time(Failure failure) {
+        int rejected = 0;
+        for (int i = 0; i < ITERATIONS / 10; i++) { // warm-up
+            rejected += atDepth(STACK_DEPTH, failure);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rejected += atDepth(STACK_DEPTH, failure);
+        }
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        assertEquals(ITERATIONS + ITERATIONS / 10, rejected, "every call must fail");
+        return nanos;
+    }
+
+    // Returns 1 when the call was rejected the way the caller would see it
+    private static int atDepth(int depth, Failure failure) {
+        if (depth > 0) {
+            return atDepth(depth - 1, failure);
+        }
+        try {
+            failure.run();
+            return 0;
+        } catch (AuthenticationException | JwtException | IllegalArgumentException ex) {
+            return 1;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Failure {
+        Object run();
+    }
+}
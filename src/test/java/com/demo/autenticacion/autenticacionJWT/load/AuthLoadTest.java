@@ -0,0 +1,173 @@
+package com.demo.autenticacion.autenticacionJWT.load;
+
+import com.demo.autenticacion.autenticacionJWT.config.EmbeddedMailConfig;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// End-to-end load harness over real HTTP on the "embedded" profile. Excluded from the normal
+// build; run with:  mvn -Pload-test test -Dload.users=200 -Dload.concurrency=32 -Dload.calls=20
+// Each phase reports p50/p99 latency, throughput and error count on stdout.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class AuthLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int CALLS_PER_USER = Integer.getInteger("load.calls", 20);
+    private static final String PASSWORD = "Load@2025x";
+    private static final String NEW_PASSWORD = "Reset@2025x";
+    // "=" may arrive quoted-printable encoded as "=3D"
+    private static final Pattern RESET_TOKEN = Pattern.compile("token=(?:3D)?([0-9a-fA-F-]{36})");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmbeddedMailConfig.CapturingMailSender mailSender;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void authFlowUnderLoad() throws Exception {
+        String[] accessTokens = new String[USERS];
+        String[] refreshTokens = new String[USERS];
+
+        run("register", USERS, i -> post("/api/v1/auth/register", """
+                {"firstName": "Load", "firstLastName": "Test", "email": "load%d@test.com",
+                 "username": "load_%d", "password": "%s", "role": "USER"}
+                """.formatted(i, i, PASSWORD), null));
+
+        run("authenticate", USERS, i -> {
+            HttpResponse<String> res = post("/api/v1/auth/authenticate",
+                    "{\"username\": \"load_%d\", \"password\": \"%s\"}".formatted(i, PASSWORD), null);
+            if (res.statusCode() == 200) {
+                accessTokens[i] = JsonPath.read(res.body(), "$.data.authenticationToken");
+                refreshTokens[i] = JsonPath.read(res.body(), "$.data.refreshToken");
+            }
+            return res;
+        });
+
+        reportHeaderSize(accessTokens);
+
+        run("protected", USERS * CALLS_PER_USER, i ->
+                post("/api/v1/user/testUser", "", accessTokens[i % USERS]));
+
+        run("refresh", USERS, i ->
+                post("/api/v1/auth/refresh?token=" + encode(refreshTokens[i]), "", null));
+
+        run("forgot-password", USERS, i ->
+                post("/api/v1/auth/forgot-password", "{\"email\": \"load%d@test.com\"}".formatted(i), null));
+
+        run("reset-password", USERS, i -> {
+            Matcher matcher = RESET_TOKEN.matcher(mailSender.lastMessageTo("load" + i + "@test.com").content());
+            if (!matcher.find()) {
+                throw new IllegalStateException("No reset link for user " + i);
+            }
+            String token = matcher.group(1);
+            return post("/api/v1/auth/reset-password?token=" + token,
+                    "{\"token\": \"%s\", \"newPassword\": \"%s\"}".formatted(token, NEW_PASSWORD), null);
+        });
+    }
+
+    private void reportHeaderSize(String[] accessTokens) {
+        long total = 0;
+        int count = 0;
+        for (String token : accessTokens) {
+            if (token != null) {
+                total += "Bearer ".length() + token.length();
+                count++;
+            }
+        }
+        System.out.printf("%-16s n=%-6d avg=%8.1f bytes%n", "auth-header", count, count == 0 ? 0.0 : (double) total / count);
+    }
+
+    private void run(String phase, int requests, Call call) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        if (call.execute(index).statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - t0;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-16s n=%-6d p50=%8.2f ms  p99=%8.2f ms  throughput=%9.1f req/s  errors=%d%n",
+                phase, requests,
+                percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6,
+                requests / (elapsed / 1e9),
+                errors.get());
+        assertEquals(0, errors.get(), phase + " had failed requests");
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1];
+    }
+
+    private HttpResponse<String> post(String path, String json, String bearer) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> execute(int index) throws Exception;
+    }
+}
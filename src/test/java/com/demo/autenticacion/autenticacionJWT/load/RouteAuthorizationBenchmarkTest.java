@@ -0,0 +1,109 @@
+package com.demo.autenticacion.autenticacionJWT.load;
+
+import com.demo.autenticacion.autenticacionJWT.helpers.PathPrefixTrie;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Per-request route decision cost as the rule table grows: the PathPrefixTrie behind RouteAuthorization
+// against the ordered PathPattern list that requestMatchers(...) evaluated before. Extra routes are
+// added ahead of the original ones, as a growing admin API would be. Part of the load suite:
+// mvn -Pload-test test -Dload.routeLookups=500000
+@Tag("load")
+class RouteAuthorizationBenchmarkTest {
+
+    private static final int LOOKUPS = Integer.getInteger("load.routeLookups", 200_000);
+    private static final int[] EXTRA_ROUTES = {0, 16, 64, 256, 1024};
+    private static final String[] ORIGINAL_ROUTES = {"/api/v1/auth/**", "/v3/api-docs/**", "/swagger-ui/**",
+            "/swagger-ui.html", "/webjars/**", "/api/v1/admin/**", "/api/v1/user/**"};
+    // Public, protected, admin and unlisted (falls through every rule) requests
+    private static final String[] REQUESTS = {"/api/v1/auth/register", "/api/v1/user/testUser",
+            "/api/v1/admin/sessions/revoke", "/api/v1/reports/daily"};
+
+    @Test
+    void routeDecisionCostByTableSize() {
+        List<MockHttpServletRequest> requests = new ArrayList<>();
+        for (String uri : REQUESTS) {
+            requests.add(new MockHttpServletRequest("GET", uri));
+        }
+        for (int extra : EXTRA_ROUTES) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < extra; i++) {
+                patterns.add("/api/v1/admin/module" + i + "/**");
+            }
+            patterns.addAll(List.of(ORIGINAL_ROUTES));
+
+            PathPrefixTrie<Integer> trie = new PathPrefixTrie<>();
+            List<PathPattern> ordered = new ArrayList<>();
+            for (int i = 0; i < patterns.size(); i++) {
+                trie.put(patterns.get(i), i);
+                ordered.add(PathPatternParser.defaultInstance.parse(patterns.get(i)));
+            }
+            for (MockHttpServletRequest request : requests) {
+                assertEquals(matchOrdered(ordered, request), matchTrie(trie, request), request.getRequestURI());
+            }
+
+            double trieNanos = time(() -> {
+                long sum = 0;
+                for (MockHttpServletRequest request : requests) {
+                    sum += matchTrie(trie, request);
+                }
+                return sum;
+            });
+            double orderedNanos = time(() -> {
+                long sum = 0;
+                for (MockHttpServletRequest request : requests) {
+                    sum += matchOrdered(ordered, request);
+                }
+                return sum;
+            });
+            System.out.printf("routes=%-5d trie=%8.1f ns/req  ordered-matchers=%9.1f ns/req%n",
+                    patterns.size(), trieNanos / requests.size(), orderedNanos / requests.size());
+        }
+    }
+
+    private static int matchTrie(PathPrefixTrie<Integer> trie, MockHttpServletRequest request) {
+        return trie.resolve(UrlPathHelper.defaultInstance.getPathWithinApplication(request), -1);
+    }
+
+    // First match wins, as in the old filter chain; the trie returns the same rule for these tables
+    // because their prefixes never overlap
+    private static int matchOrdered(List<PathPattern> ordered, MockHttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).matches(path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double time(Lookup lookup) {
+        long sink = 0;
+        for (int i = 0; i < LOOKUPS / 10; i++) { // warm-up
+            sink += lookup.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            sink += lookup.run();
+        }
+        double nanos = (double) (System.nanoTime() - start) / LOOKUPS;
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return nanos;
+    }
+
+    private interface Lookup {
+        long run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.autenticacion.autenticacionJWT.load;
+
+import com.demo.autenticacion.autenticacionJWT.dtos.RegisterRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Times a full RegisterRequest validation with the regex-free constraint validators (their equivalence
+// with the replaced @Pattern regexes is checked by ValidatorEquivalenceTests in the default suite).
+// Part of the load suite:  mvn -Pload-test test
+@Tag("load")
+class ValidationBenchmarkTest {
+
+    private static final int ITERATIONS = Integer.getInteger("load.validations", 200_000);
+
+    @Test
+    void registerRequestValidation() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            RegisterRequest valid = RegisterRequest.builder()
+                    .firstName("José María").firstLastName("Núñez").secondLastName("O'Neil-Pérez")
+                    .username("load_user_1").email("load1@test.com").password("Load@2025x").role("USER")
+                    .build();
+            RegisterRequest invalid = RegisterRequest.builder()
+                    .firstName("J0se").firstLastName("").username("bad user!").email("nope")
+                    .password("a".repeat(5_000) + "#").role("USER")
+                    .build();
+            assertEquals(0, validator.validate(valid).size());
+
+            for (RegisterRequest request : new RegisterRequest[]{valid, invalid}) {
+                int violations = 0;
+                for (int i = 0; i < ITERATIONS / 10; i++) { // warm-up
+                    violations += validator.validate(request).size();
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    Set<ConstraintViolation<RegisterRequest>> result = validator.validate(request);
+                    violations += result.size();
+                }
+                double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+                System.out.printf("%-16s n=%-8d avg=%8.2f us/op  violations/op=%d%n",
+                        request == valid ? "register-valid" : "register-invalid", ITERATIONS, nanos / 1000,
+                        violations / (ITERATIONS + ITERATIONS / 10));
+            }
+        }
+    }
+}